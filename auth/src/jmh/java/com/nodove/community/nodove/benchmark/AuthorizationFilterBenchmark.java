@@ -0,0 +1,47 @@
+package com.nodove.community.nodove.benchmark;
+
+import com.nodove.community.nodove.configuration.security.JWT.JwtUtility;
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedTokenCache;
+import com.nodove.community.nodove.filter.AuthorizationFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// AuthorizationFilter 1회 통과 (유효한 access token, 차단되지 않은 사용자)
+// mock request / response / chain 생성 비용도 측정값에 포함된다.
+@State(Scope.Benchmark)
+public class AuthorizationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean tokenCacheEnabled;
+
+    private AuthorizationFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtility jwtUtility = BenchmarkFixtures.jwtUtility(BenchmarkFixtures.NOT_BLOCKED);
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(tokenCacheEnabled, 16L * 1024 * 1024, 30);
+        filter = new AuthorizationFilter(jwtUtility, BenchmarkFixtures.responseStatus(), null, null, tokenCache, BenchmarkFixtures.authMetrics());
+        authorizationHeader = "Bearer " + jwtUtility.generateToken(BenchmarkFixtures.loginAuthentication()).getAccessToken();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterInternal() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/protected");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
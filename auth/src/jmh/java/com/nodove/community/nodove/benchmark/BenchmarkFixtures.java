@@ -0,0 +1,60 @@
+package com.nodove.community.nodove.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.configuration.Utility.ObjectMapperConfig;
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
+import com.nodove.community.nodove.configuration.security.JWT.JwtUtility;
+import com.nodove.community.nodove.configuration.security.constructor.PrincipalDetails;
+import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.domain.users.UserRole;
+import com.nodove.community.nodove.dto.response.ResponseStatus;
+import com.nodove.community.nodove.service.UserBlockServiceManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+// benchmark 공용 fixture: Spring context 없이 hot path 객체만 직접 구성한다.
+final class BenchmarkFixtures {
+
+    static final String ACCESS_SECRET = "benchmark-access-secret-key-0123456789-abcdefghijklmnopqrstuvwxyz";
+    static final String REFRESH_SECRET = "benchmark-refresh-secret-key-0123456789-abcdefghijklmnopqrstuvwxyz";
+    static final String EMAIL_CODE_HMAC_KEY = "benchmark-email-code-hmac-key-0123456789-abcdefghijklmnopqrstuvwxyz";
+
+    // 차단되지 않은 사용자 (Redis / DB 조회 없이 null 반환)
+    static final UserBlockServiceManager NOT_BLOCKED = userId -> null;
+
+    private BenchmarkFixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return new ObjectMapperConfig().objectMapper();
+    }
+
+    static ResponseStatus responseStatus() {
+        return new ResponseStatus(objectMapper());
+    }
+
+    // timer 기록 비용까지 포함되도록 실제 registry 사용
+    static AuthMetrics authMetrics() {
+        return new AuthMetrics(new SimpleMeterRegistry());
+    }
+
+    // RedisService / UserCacheManager 는 측정 대상 경로에서 사용되지 않으므로 null
+    static JwtUtility jwtUtility(UserBlockServiceManager userBlockService) {
+        return new JwtUtility(ACCESS_SECRET, REFRESH_SECRET, null, userBlockService, null, responseStatus());
+    }
+
+    static Authentication loginAuthentication() {
+        User user = User.builder()
+                .id(1L)
+                .userId("1700000000000")
+                .email("benchmark@nodove.com")
+                .userNick("benchmark")
+                .password("{noop}password")
+                .userRole(UserRole.ROLE_USER)
+                .isActive(true)
+                .build();
+        PrincipalDetails principalDetails = new PrincipalDetails(user, null);
+        return new UsernamePasswordAuthenticationToken(principalDetails, null, principalDetails.getAuthorities());
+    }
+}
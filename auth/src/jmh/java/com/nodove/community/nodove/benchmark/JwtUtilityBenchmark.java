@@ -0,0 +1,61 @@
+package com.nodove.community.nodove.benchmark;
+
+import com.nodove.community.nodove.configuration.security.JWT.JwtUtility;
+import com.nodove.community.nodove.dto.security.TokenDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Map;
+
+// JwtUtility hot path: 발급 / 검증 / 파싱
+@State(Scope.Benchmark)
+public class JwtUtilityBenchmark {
+
+    private JwtUtility jwtUtility;
+    private Authentication authentication;
+    private String accessToken;
+    private String refreshToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtility = BenchmarkFixtures.jwtUtility(BenchmarkFixtures.NOT_BLOCKED);
+        authentication = BenchmarkFixtures.loginAuthentication();
+        TokenDto tokenDto = jwtUtility.generateToken(authentication);
+        accessToken = tokenDto.getAccessToken();
+        refreshToken = tokenDto.getRefreshToken();
+    }
+
+    @Benchmark
+    public TokenDto generateToken() {
+        return jwtUtility.generateToken(authentication);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken getAuthentication() {
+        return jwtUtility.getAuthentication(accessToken);
+    }
+
+    @Benchmark
+    public boolean isAccessTokenExpired() {
+        return jwtUtility.isTokenExpired(accessToken, 0);
+    }
+
+    @Benchmark
+    public boolean isRefreshTokenExpired() {
+        return jwtUtility.isTokenExpired(refreshToken, 1);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseAccessToken() {
+        return jwtUtility.parseToken(accessToken, 0);
+    }
+
+    @Benchmark
+    public Map<String, Object> parseRefreshToken() {
+        return jwtUtility.parseToken(refreshToken, 1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.nodove.community.nodove.benchmark;
+
+import com.nodove.community.nodove.configuration.security.BoundedPasswordEncoder;
+import com.nodove.community.nodove.configuration.security.EmailCodeHmac;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+// PasswordEncoderConfig 와 같은 구성 (DelegatingPasswordEncoder(bcrypt) -> BoundedPasswordEncoder)
+// direct*  : 요청 스레드에서 바로 hashing (기존 방식)
+// bounded* : 전용 executor 경유, 코어 수 만큼의 동시 hashing 으로 제한
+// 코어당 login/s = matches 의 thrpt(ops/us * 1e6) / 사용 코어 수
+// email code : 기존 bcrypt encode/matches 와 EmailCodeHmac sign/verify 비교
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String RAW_PASSWORD = "benchmark-password-1234";
+    private static final String EMAIL = "benchmark@nodove.com";
+    private static final String EMAIL_CODE = "0f8fad5bd9cb469fa16570867728950e";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordEncoder directEncoder;
+    private BoundedPasswordEncoder boundedEncoder;
+    private String encodedPassword;
+
+    private EmailCodeHmac emailCodeHmac;
+    private String bcryptEmailCode;
+    private String signedEmailCode;
+
+    @Setup
+    public void setUp() {
+        directEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        boundedEncoder = new BoundedPasswordEncoder(directEncoder, Runtime.getRuntime().availableProcessors(), 1024, 60_000);
+        encodedPassword = directEncoder.encode(RAW_PASSWORD);
+
+        emailCodeHmac = new EmailCodeHmac(BenchmarkFixtures.EMAIL_CODE_HMAC_KEY);
+        bcryptEmailCode = directEncoder.encode(EMAIL_CODE);
+        signedEmailCode = emailCodeHmac.sign(EMAIL, EMAIL_CODE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        boundedEncoder.destroy();
+    }
+
+    @Benchmark
+    public String encode() {
+        return directEncoder.encode(RAW_PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean directMatches() {
+        return directEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean boundedMatches() {
+        return boundedEncoder.matches(RAW_PASSWORD, encodedPassword);
+    }
+
+    @Benchmark
+    public boolean emailCodeBcryptMatches() {
+        return directEncoder.matches(EMAIL_CODE, bcryptEmailCode);
+    }
+
+    @Benchmark
+    public boolean emailCodeHmacVerify() {
+        return emailCodeHmac.verify(EMAIL, EMAIL_CODE, signedEmailCode);
+    }
+
+    @Benchmark
+    public String emailCodeHmacSign() {
+        return emailCodeHmac.sign(EMAIL, EMAIL_CODE);
+    }
+}
@@ -0,0 +1,129 @@
+package com.nodove.community.nodove.benchmark;
+
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// RedisService 의 단순 cache 조회 / 저장 (GET / SET EX) 처리량: 로컬 redis-server 필요
+//   ./gradlew jmh -PjmhInclude=RedisTemplateBenchmark  (다른 서버: -Djmh.redis.host= / -Djmh.redis.port=)
+//   transactional : 기존 방식. @Transactional + transaction support template -> 호출마다 connection bind / MULTI / EXEC
+//   fast          : cacheRedisTemplate. transaction 없이 공유 connection 하나로 multiplexing
+// 기존 방식의 실제 비용에는 JPA transaction 시작 (JDBC connection 획득) 도 포함되지만, 여기서는 no-op transaction manager 로
+// Redis 쪽 비용만 측정한다. (실제 차이는 이보다 크다)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class RedisTemplateBenchmark {
+
+    private static final int KEYS = 1024;
+    private static final String KEY_PREFIX = "JMH_CACHE:";
+
+    @Param({"transactional", "fast"})
+    public String mode;
+
+    @Param({"false", "true"})
+    public boolean pooled;
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, String> template;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("jmh.redis.host", "localhost"),
+                Integer.getInteger("jmh.redis.port", 6379));
+        LettuceClientConfiguration clientConfiguration = pooled
+                ? LettucePoolingClientConfiguration.builder().poolConfig(new GenericObjectPoolConfig<>()).build()
+                : LettuceClientConfiguration.defaultConfiguration();
+        connectionFactory = new LettuceConnectionFactory(configuration, clientConfiguration);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+
+        if ("transactional".equals(mode)) {
+            RedisTemplate<String, String> transactional = new RedisTemplate<>();
+            transactional.setKeySerializer(new StringRedisSerializer());
+            transactional.setValueSerializer(new StringRedisSerializer());
+            transactional.setEnableTransactionSupport(true);
+            transactional.setConnectionFactory(connectionFactory);
+            transactional.afterPropertiesSet();
+            template = transactional;
+        } else {
+            template = new StringRedisTemplate(connectionFactory);
+        }
+        transactionTemplate = new TransactionTemplate(new NoOpTransactionManager());
+
+        for (int i = 0; i < KEYS; i++) {
+            template.opsForValue().set(KEY_PREFIX + i, "{\"userId\":\"" + i + "\",\"blocked\":false}", Duration.ofMinutes(10));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public String get() {
+        String key = KEY_PREFIX + ThreadLocalRandom.current().nextInt(KEYS);
+        return "transactional".equals(mode)
+                ? transactionTemplate.execute(status -> template.opsForValue().get(key))
+                : template.opsForValue().get(key);
+    }
+
+    @Benchmark
+    public void set() {
+        String key = KEY_PREFIX + ThreadLocalRandom.current().nextInt(KEYS);
+        if ("transactional".equals(mode)) {
+            transactionTemplate.executeWithoutResult(status -> template.opsForValue().set(key, key, Duration.ofMinutes(10)));
+        } else {
+            template.opsForValue().set(key, key, Duration.ofMinutes(10));
+        }
+    }
+
+    // @Transactional 의 synchronization 만 재현 (RedisTemplate 이 connection 을 bind 하고 commit 시 EXEC)
+    private static final class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.nodove.community.nodove.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.dto.response.ApiResponseDto;
+import com.nodove.community.nodove.dto.response.ResponseCode;
+import com.nodove.community.nodove.dto.response.ResponseStatus;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+// 고정 응답 1회 기록: 요청마다 DTO 생성 + writeValueAsString (기존) vs 미리 인코딩된 byte[] vs ObjectWriter streaming
+// -prof gc 로 실행하면 응답당 할당량 (gc.alloc.rate.norm) 차이를 확인할 수 있다.
+@State(Scope.Benchmark)
+public class ResponseWriteBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ResponseStatus responseStatus;
+    private ApiResponseDto<List<String>> dynamicBody;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        responseStatus = BenchmarkFixtures.responseStatus();
+        dynamicBody = ApiResponseDto.<List<String>>builder()
+                .status("success")
+                .code("LOGIN_SESSIONS")
+                .message("로그인 중인 기기 목록입니다.")
+                .data(List.of("device-1", "device-2"))
+                .build();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse buildAndSerialize() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType("application/json");
+        response.getWriter().write(objectMapper.writeValueAsString(ApiResponseDto.builder()
+                .status("error")
+                .message(ResponseCode.TOKEN_EXPIRED.getMessage())
+                .code(ResponseCode.TOKEN_EXPIRED.name())
+                .build()));
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse preEncoded() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseStatus.write(response, ResponseCode.TOKEN_EXPIRED);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse streamedDynamic() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        responseStatus.write(response, HttpServletResponse.SC_OK, dynamicBody);
+        return response;
+    }
+}
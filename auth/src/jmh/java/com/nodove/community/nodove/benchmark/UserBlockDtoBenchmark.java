@@ -0,0 +1,51 @@
+package com.nodove.community.nodove.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.dto.user.UserBlockDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+
+// RedisService 의 block 캐싱 값 (UserBlockDto <-> JSON) 직렬화 비용
+@State(Scope.Benchmark)
+public class UserBlockDtoBenchmark {
+
+    private ObjectMapper objectMapper;
+    private UserBlockDto userBlockDto;
+    private String json;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        LocalDateTime now = LocalDateTime.now();
+        userBlockDto = UserBlockDto.builder()
+                .id(1L)
+                .user("1700000000000")
+                .blockedBy("1")
+                .blockedAt(now.toString())
+                .unblockedAt(now.plusDays(1).toString())
+                .reason("benchmark")
+                .isBlocked(true)
+                .Duration(86400L)
+                .build();
+        json = objectMapper.writeValueAsString(userBlockDto);
+    }
+
+    @Benchmark
+    public String serialize() throws Exception {
+        return objectMapper.writeValueAsString(userBlockDto);
+    }
+
+    @Benchmark
+    public UserBlockDto deserialize() throws Exception {
+        return objectMapper.readValue(json, UserBlockDto.class);
+    }
+
+    @Benchmark
+    public UserBlockDto roundTrip() throws Exception {
+        return objectMapper.readValue(objectMapper.writeValueAsString(userBlockDto), UserBlockDto.class);
+    }
+}
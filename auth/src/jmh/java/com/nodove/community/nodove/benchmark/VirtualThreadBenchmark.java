@@ -0,0 +1,104 @@
+package com.nodove.community.nodove.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// platform thread pool (Tomcat 기본 max-threads 200) vs virtual thread per task.
+// 요청 하나 = Redis / JDBC 대기 (blockMillis) 를 흉내낸 blocking + 짧은 CPU 작업.
+// concurrency 개의 요청을 동시에 넣고 모두 끝날 때까지의 시간을 측정한다.
+//   platform : 약 concurrency / 200 * blockMillis
+//   virtual  : 약 blockMillis
+//   pinned   : synchronized 안에서 block -> carrier 수 (코어 수) 만큼만 동시에 진행
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual", "virtual-pinned"})
+    public String mode;
+
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    @Param({"5"})
+    public long blockMillis;
+
+    private ExecutorService executor;
+    private Object[] monitors;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        monitors = new Object[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            monitors[i] = new Object();
+        }
+        executor = "platform".equals(mode)
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long requests() throws Exception {
+        boolean pinned = "virtual-pinned".equals(mode);
+        List<Future<Long>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Object monitor = monitors[i];
+            futures.add(executor.submit(() -> pinned ? pinnedRequest(monitor) : request()));
+        }
+        long sum = 0;
+        for (Future<Long> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+
+    private long request() throws InterruptedException {
+        Thread.sleep(blockMillis);
+        return work();
+    }
+
+    // 요청마다 다른 monitor 라 경합은 없지만, synchronized 안에서 block 하므로 carrier 가 고정된다.
+    // (monitor 를 필드에 두어 JIT 의 lock elision 을 막는다)
+    private long pinnedRequest(Object monitor) throws InterruptedException {
+        synchronized (monitor) {
+            Thread.sleep(blockMillis);
+        }
+        return work();
+    }
+
+    private static long work() {
+        long x = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            x ^= x << 13;
+            x ^= x >>> 7;
+            x ^= x << 17;
+        }
+        return x;
+    }
+}
@@ -0,0 +1,16 @@
+package com.nodove.community.nodove.configuration.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// @GeneratedValue(IDENTITY) 대신 사용: insert 전에 ID 가 정해지므로 Hibernate JDBC batch insert 가 가능하다.
+// (hibernate.jdbc.batch_size, application.properties 참고)
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,102 @@
+package com.nodove.community.nodove.configuration.id;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Snowflake 방식 64bit ID (시간 순 정렬 가능, node 간 충돌 없음).
+//   [0][41bit: EPOCH 이후 millis][10bit: node id][12bit: sequence]  -> node 당 ms 마다 4096 개, 2093 년까지
+// 마지막 (timestamp, sequence) 를 AtomicLong 하나에 묶어 CAS 로 갱신하므로 lock 이 없다.
+//  - 같은 ms : sequence + 1 (4096 을 넘으면 자리올림으로 다음 ms 를 미리 사용)
+//  - 시계가 뒤로 간 경우 : max-backward-ms 이내면 마지막 timestamp 에 이어서 발급, 그 이상이면 IllegalStateException
+// node id 는 인스턴스마다 달라야 한다. (id.snowflake.node-id, 0 ~ 1023)
+//  - id.snowflake.instances > 1 인데 node-id 가 없으면 기동 실패 (모든 replica 가 node 0 으로 같은 ID 를 발급하는 것을 막는다)
+@Slf4j
+@Component
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+
+    private final long nodeId;
+    private final long maxBackwardMillis;
+    private final LongSupplier clock;
+    // (timestamp - EPOCH) << SEQUENCE_BITS | sequence
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public SnowflakeIdGenerator(
+            @Value("${id.snowflake.node-id:#{null}}") Long nodeId,
+            @Value("${id.snowflake.instances:1}") int instances,
+            @Value("${id.snowflake.max-backward-ms:50}") long maxBackwardMillis
+    ) {
+        this(resolveNodeId(nodeId, instances), maxBackwardMillis, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long nodeId, long maxBackwardMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("id.snowflake.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.maxBackwardMillis = maxBackwardMillis;
+        this.clock = clock;
+        log.info("SnowflakeIdGenerator nodeId={}, maxBackwardMillis={}", nodeId, maxBackwardMillis);
+    }
+
+    // 단일 인스턴스일 때만 node 0 을 기본값으로 쓴다.
+    static long resolveNodeId(Long nodeId, int instances) {
+        if (nodeId != null) {
+            return nodeId;
+        }
+        if (instances > 1) {
+            throw new IllegalStateException("id.snowflake.node-id is required when id.snowflake.instances=" + instances);
+        }
+        return 0;
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if (lastTimestamp - now <= maxBackwardMillis) {
+                next = current + 1;
+            } else {
+                throw new IllegalStateException("Clock moved backwards by " + (lastTimestamp - now) + "ms, refusing to generate id");
+            }
+
+            if (state.compareAndSet(current, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT
+                        | nodeId << NODE_SHIFT
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public String nextIdAsString() {
+        return Long.toString(nextId());
+    }
+
+    // ID 에 포함된 발급 시각 (epoch millis)
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> NODE_SHIFT) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,35 @@
+package com.nodove.community.nodove.configuration.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.resource.beans.spi.ManagedBeanRegistry;
+
+import java.lang.reflect.Member;
+import java.util.EnumSet;
+
+// @SnowflakeId 필드의 ID 생성기 (Hibernate 가 entity 마다 생성)
+// SnowflakeIdGenerator 는 Hibernate 의 bean container (Spring Boot 가 SpringBeanContainer 로 등록) 에서 받아온다.
+public class SnowflakeIdentifierGenerator implements BeforeExecutionGenerator {
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    public SnowflakeIdentifierGenerator(SnowflakeId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.idGenerator = context.getServiceRegistry()
+                .requireService(ManagedBeanRegistry.class)
+                .getBean(SnowflakeIdGenerator.class)
+                .getBeanInstance();
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue, EventType eventType) {
+        return idGenerator.nextId();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
@@ -0,0 +1,104 @@
+package com.nodove.community.nodove.configuration.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// auth 요청 경로의 timer 모음.
+// hot path 에서 registry 조회 (name + tags lookup) 가 일어나지 않도록 Timer 를 미리 만들어 둔다.
+// histogram / percentile 설정은 application.properties 의 management.metrics.distribution.*.auth 참고.
+@Component
+public class AuthMetrics {
+
+    public static final String FILTER_PHASE = "auth.filter.phase";
+    public static final String REDIS = "auth.redis";
+    public static final String USER_LOAD = "auth.user.load";
+    public static final String MAIL_ENQUEUE = "auth.mail.enqueue";
+    public static final String MAIL_SEND = "auth.mail.send";
+
+    private final MeterRegistry registry;
+
+    private final Timer filterParse;
+    private final Timer filterExpiry;
+    private final Timer filterBlockLookup;
+    private final Timer filterReissue;
+    private final Timer userLoad;
+    private final Timer mailEnqueue;
+    private final Timer mailSendSuccess;
+    private final Timer mailSendFailure;
+    private final Map<String, Timer> redisTimers = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.filterParse = filterPhase("parse");
+        this.filterExpiry = filterPhase("expiry");
+        this.filterBlockLookup = filterPhase("block_lookup");
+        this.filterReissue = filterPhase("reissue");
+        this.userLoad = Timer.builder(USER_LOAD)
+                .description("PrincipalDetailsService.loadUserByUsername")
+                .register(registry);
+        this.mailEnqueue = Timer.builder(MAIL_ENQUEUE)
+                .description("SmtpService.MailSender (outbox enqueue)")
+                .register(registry);
+        this.mailSendSuccess = mailSend("success");
+        this.mailSendFailure = mailSend("failure");
+    }
+
+    private Timer filterPhase(String phase) {
+        return Timer.builder(FILTER_PHASE)
+                .description("AuthorizationFilter phase latency")
+                .tag("phase", phase)
+                .register(registry);
+    }
+
+    private Timer mailSend(String outcome) {
+        return Timer.builder(MAIL_SEND)
+                .description("SMTP send latency (MailOutboxWorker)")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    public void recordFilterParse(long startNanos) {
+        filterParse.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFilterExpiry(long startNanos) {
+        filterExpiry.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFilterBlockLookup(long startNanos) {
+        filterBlockLookup.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordFilterReissue(long startNanos) {
+        filterReissue.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordUserLoad(long startNanos) {
+        userLoad.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMailEnqueue(long startNanos) {
+        mailEnqueue.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordMailSend(long startNanos, boolean success) {
+        (success ? mailSendSuccess : mailSendFailure).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // RedisServiceManager method 별 timer (operation = method 이름)
+    public Timer redisTimer(String operation) {
+        Timer timer = redisTimers.get(operation);
+        if (timer != null) {
+            return timer;
+        }
+        return redisTimers.computeIfAbsent(operation, op -> Timer.builder(REDIS)
+                .description("RedisServiceManager operation latency")
+                .tag("operation", op)
+                .register(registry));
+    }
+}
@@ -0,0 +1,154 @@
+package com.nodove.community.nodove.configuration.metrics;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedTokenCache;
+import com.nodove.community.nodove.configuration.threads.VirtualThreadPinningMonitor;
+import com.nodove.community.nodove.service.BlockedUserFilter;
+import com.nodove.community.nodove.service.LoginHistoryWriter;
+import com.nodove.community.nodove.service.MailOutboxWorker;
+import com.nodove.community.nodove.service.RateLimiter;
+import com.nodove.community.nodove.service.TokenReissueCoalescer;
+import com.nodove.community.nodove.service.UserBlockNearCache;
+import com.nodove.community.nodove.service.UserNearCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+// 각 컴포넌트가 이미 들고 있는 통계 getter 를 gauge / function counter 로 노출 (scrape 시점에만 읽음)
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(VerifiedTokenCache verifiedTokenCache) {
+        return registry -> bindCache(registry, "verified_token", verifiedTokenCache, VerifiedTokenCache::stats, VerifiedTokenCache::estimatedSize);
+    }
+
+    @Bean
+    public MeterBinder userBlockNearCacheMetrics(UserBlockNearCache userBlockNearCache) {
+        return registry -> bindCache(registry, "user_block_near", userBlockNearCache, UserBlockNearCache::stats, UserBlockNearCache::estimatedSize);
+    }
+
+    @Bean
+    public MeterBinder userNearCacheMetrics(UserNearCache userNearCache) {
+        return registry -> bindCache(registry, "user_near", userNearCache, UserNearCache::stats, UserNearCache::estimatedSize);
+    }
+
+    @Bean
+    public MeterBinder blockedUserFilterMetrics(BlockedUserFilter blockedUserFilter) {
+        return registry -> {
+            Gauge.builder("auth.blocked_filter.fpp", blockedUserFilter, BlockedUserFilter::expectedFalsePositiveRate)
+                    .tag("kind", "expected")
+                    .register(registry);
+            Gauge.builder("auth.blocked_filter.fpp", blockedUserFilter, BlockedUserFilter::observedFalsePositiveRate)
+                    .tag("kind", "observed")
+                    .register(registry);
+            Gauge.builder("auth.blocked_filter.elements", blockedUserFilter, BlockedUserFilter::approximateElementCount)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder loginHistoryWriterMetrics(LoginHistoryWriter loginHistoryWriter) {
+        return registry -> {
+            Gauge.builder("auth.login_history.queue", loginHistoryWriter, LoginHistoryWriter::queueDepth)
+                    .register(registry);
+            TimeGauge.builder("auth.login_history.last_flush", loginHistoryWriter, TimeUnit.NANOSECONDS, LoginHistoryWriter::lastFlushLatencyNanos)
+                    .register(registry);
+            FunctionCounter.builder("auth.login_history.records", loginHistoryWriter, LoginHistoryWriter::flushedCount)
+                    .tag("result", "flushed")
+                    .register(registry);
+            FunctionCounter.builder("auth.login_history.records", loginHistoryWriter, LoginHistoryWriter::droppedCount)
+                    .tag("result", "dropped")
+                    .register(registry);
+            FunctionCounter.builder("auth.login_history.records", loginHistoryWriter, LoginHistoryWriter::failedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder mailOutboxMetrics(MailOutboxWorker mailOutboxWorker) {
+        return registry -> {
+            FunctionCounter.builder("auth.mail.outbox", mailOutboxWorker, MailOutboxWorker::sentCount)
+                    .tag("result", "sent")
+                    .register(registry);
+            FunctionCounter.builder("auth.mail.outbox", mailOutboxWorker, MailOutboxWorker::failedCount)
+                    .tag("result", "failed")
+                    .register(registry);
+            FunctionCounter.builder("auth.mail.outbox", mailOutboxWorker, MailOutboxWorker::retriedCount)
+                    .tag("result", "retried")
+                    .register(registry);
+            FunctionCounter.builder("auth.mail.outbox", mailOutboxWorker, MailOutboxWorker::deadLetterCount)
+                    .tag("result", "dead_letter")
+                    .register(registry);
+            FunctionCounter.builder("auth.mail.outbox", mailOutboxWorker, MailOutboxWorker::claimedCount)
+                    .tag("result", "claimed")
+                    .register(registry);
+            // XLEN 한 번 (scrape 시점)
+            Gauge.builder("auth.mail.outbox.backlog", mailOutboxWorker, worker -> {
+                        Long backlog = worker.backlog();
+                        return backlog == null ? Double.NaN : backlog;
+                    })
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder tokenReissueMetrics(TokenReissueCoalescer tokenReissueCoalescer) {
+        return registry -> {
+            FunctionCounter.builder("auth.token.reissue", tokenReissueCoalescer, TokenReissueCoalescer::computedCount)
+                    .tag("result", "computed")
+                    .register(registry);
+            FunctionCounter.builder("auth.token.reissue", tokenReissueCoalescer, TokenReissueCoalescer::coalescedCount)
+                    .tag("result", "coalesced")
+                    .register(registry);
+            FunctionCounter.builder("auth.token.reissue", tokenReissueCoalescer, TokenReissueCoalescer::remoteHitCount)
+                    .tag("result", "remote_memo")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            FunctionCounter.builder("auth.rate_limit.rejected", rateLimiter, RateLimiter::rejectedCount)
+                    .register(registry);
+            Gauge.builder("auth.rate_limit.keys", rateLimiter, RateLimiter::trackedKeys)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder virtualThreadPinningMetrics(ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor) {
+        return registry -> pinningMonitor.ifAvailable(monitor ->
+                FunctionCounter.builder("auth.virtual_threads.pinned", monitor, VirtualThreadPinningMonitor::pinnedCount)
+                        .register(registry));
+    }
+
+    // micrometer 는 state object 를 약한 참조로 들고 있으므로 (GC 시 NaN) singleton bean 자체를 넘긴다.
+    private static <T> void bindCache(MeterRegistry registry, String cache, T source, Function<T, CacheStats> stats, ToDoubleFunction<T> size) {
+        FunctionCounter.builder("auth.cache.gets", source, c -> stats.apply(c).hitCount())
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.gets", source, c -> stats.apply(c).missCount())
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("auth.cache.evictions", source, c -> stats.apply(c).evictionCount())
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("auth.cache.size", source, size)
+                .tag("cache", cache)
+                .register(registry);
+    }
+}
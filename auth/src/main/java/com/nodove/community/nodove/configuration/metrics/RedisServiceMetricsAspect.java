@@ -0,0 +1,30 @@
+package com.nodove.community.nodove.configuration.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// RedisServiceManager 의 모든 method 를 auth.redis{operation=<method>} timer 로 측정.
+// (@Transactional 과 같은 proxy 에 advice 로 붙으므로 proxy 가 한 겹 더 생기지 않는다)
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RedisServiceMetricsAspect {
+
+    private final AuthMetrics authMetrics;
+
+    @Around("execution(* com.nodove.community.nodove.service.RedisServiceManager+.*(..))")
+    public Object timeRedisOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            authMetrics.redisTimer(joinPoint.getSignature().getName())
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -1,15 +1,43 @@
 package com.nodove.community.nodove.configuration.redis;
 
+import com.nodove.community.nodove.service.BlockedUserFilter;
+import com.nodove.community.nodove.service.UserBlockNearCache;
+import com.nodove.community.nodove.service.UserNearCache;
+import io.lettuce.core.ReadFrom;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+// Redis 연결 구성.
+//  - redisTemplate (기본): transaction support 사용. DB transaction 안에서는 commit 시점에 MULTI/EXEC 로 실행된다. (MailOutbox, block caching)
+//  - cacheRedisTemplate  : transaction support 없이 Lettuce 의 공유 (multiplexed) connection 을 그대로 사용하는 단순 cache 조회 / 저장용.
+//                          redis.read-from 설정 시 조회를 replica 로 보낸다.
+// topology: redis.topology = standalone | sentinel | master-replica (정적 master / replica 목록, 예: managed Redis)
+// pool    : redis.pool.enabled=true 이면 MULTI / blocking 명령 (XREADGROUP BLOCK 등) 이 쓰는 전용 connection 을 pool 에서 재사용한다.
+//           일반 명령은 pool 여부와 관계없이 공유 connection 하나로 처리된다.
+@Slf4j
 @Configuration
 public class RedisConfig {
 
@@ -22,23 +50,151 @@ public class RedisConfig {
     @Value("${spring.data.redis.password}")
     private String password;
 
+    @Value("${redis.topology:standalone}")
+    private String topology;
+
+    // sentinel: master 이름 + sentinel 목록 (host:port,host:port)
+    @Value("${redis.sentinel.master:mymaster}")
+    private String sentinelMaster;
+
+    @Value("${redis.sentinel.nodes:}")
+    private String sentinelNodes;
+
+    // master-replica: spring.data.redis.host/port 가 master, 이 목록이 replica
+    @Value("${redis.replica.nodes:}")
+    private String replicaNodes;
+
+    // cacheRedisTemplate 의 조회 대상 (Lettuce ReadFrom 이름: upstream, upstreamPreferred, replica, replicaPreferred, nearest, any)
+    @Value("${redis.read-from:upstream}")
+    private String readFrom;
+
+    @Value("${redis.pool.enabled:false}")
+    private boolean poolEnabled;
+
+    @Value("${redis.pool.max-active:16}")
+    private int poolMaxActive;
+
+    @Value("${redis.pool.max-idle:8}")
+    private int poolMaxIdle;
+
+    @Value("${redis.pool.min-idle:0}")
+    private int poolMinIdle;
+
+    @Value("${redis.pool.max-wait-ms:500}")
+    private long poolMaxWaitMillis;
+
+    @Bean
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory() {
+        // 쓰기 / transaction / Lua script / pub-sub 는 항상 master
+        return connectionFactory(ReadFrom.UPSTREAM);
+    }
+
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    public LettuceConnectionFactory cacheRedisConnectionFactory() {
+        return connectionFactory(ReadFrom.valueOf(this.readFrom));
+    }
+
+    private LettuceConnectionFactory connectionFactory(ReadFrom readFrom) {
+        RedisConfiguration configuration = switch (this.topology) {
+            case "standalone" -> standaloneConfiguration();
+            case "sentinel" -> sentinelConfiguration();
+            case "master-replica" -> masterReplicaConfiguration();
+            default -> throw new IllegalArgumentException("Unknown redis.topology: " + this.topology);
+        };
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder clientConfiguration = this.poolEnabled
+                ? LettucePoolingClientConfiguration.builder().poolConfig(poolConfig())
+                : LettuceClientConfiguration.builder();
+        // standalone 에서는 ReadFrom 이 무시된다.
+        if (!"standalone".equals(this.topology)) {
+            clientConfiguration.readFrom(readFrom);
+        }
+        log.info("Redis topology={}, readFrom={}, pool={}", this.topology, readFrom, this.poolEnabled);
+        return new LettuceConnectionFactory(configuration, clientConfiguration.build());
+    }
+
+    private RedisStandaloneConfiguration standaloneConfiguration() {
         RedisStandaloneConfiguration redisStandaloneConfiguration = new RedisStandaloneConfiguration();
         redisStandaloneConfiguration.setHostName(this.host);
         redisStandaloneConfiguration.setPort(this.port);
         redisStandaloneConfiguration.setPassword(this.password);
-        return new LettuceConnectionFactory(redisStandaloneConfiguration);
+        return redisStandaloneConfiguration;
+    }
+
+    private RedisSentinelConfiguration sentinelConfiguration() {
+        RedisSentinelConfiguration redisSentinelConfiguration = new RedisSentinelConfiguration();
+        redisSentinelConfiguration.master(this.sentinelMaster);
+        redisSentinelConfiguration.setSentinels(nodes(this.sentinelNodes));
+        redisSentinelConfiguration.setPassword(this.password);
+        return redisSentinelConfiguration;
+    }
+
+    private RedisStaticMasterReplicaConfiguration masterReplicaConfiguration() {
+        RedisStaticMasterReplicaConfiguration redisMasterReplicaConfiguration = new RedisStaticMasterReplicaConfiguration(this.host, this.port);
+        nodes(this.replicaNodes).forEach(node -> redisMasterReplicaConfiguration.addNode(node.getHost(), node.getPort()));
+        redisMasterReplicaConfiguration.setPassword(this.password);
+        return redisMasterReplicaConfiguration;
+    }
+
+    private GenericObjectPoolConfig<?> poolConfig() {
+        GenericObjectPoolConfig<?> poolConfig = new GenericObjectPoolConfig<>();
+        poolConfig.setMaxTotal(this.poolMaxActive);
+        poolConfig.setMaxIdle(this.poolMaxIdle);
+        poolConfig.setMinIdle(this.poolMinIdle);
+        poolConfig.setMaxWait(Duration.ofMillis(this.poolMaxWaitMillis));
+        return poolConfig;
+    }
+
+    private static List<RedisNode> nodes(String nodes) {
+        return Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .map(RedisNode::fromString)
+                .toList();
     }
 
     @Bean
+    @Primary
     public RedisTemplate<?, ?> redisTemplate() {
         RedisTemplate<?, ?> redisTemplate = new RedisTemplate<>();
         redisTemplate.setKeySerializer(new StringRedisSerializer());  // Serialize keys as strings
         redisTemplate.setValueSerializer(new StringRedisSerializer());  // Serialize values as strings
+        redisTemplate.setHashKeySerializer(new StringRedisSerializer());  // hash / stream field
+        redisTemplate.setHashValueSerializer(new StringRedisSerializer());
         redisTemplate.setEnableTransactionSupport(true);
         redisTemplate.setConnectionFactory(redisConnectionFactory());
         return redisTemplate;
 
     }
+
+    // transaction 에 묶이지 않는 fast path (StringRedisTemplate 은 key / value / hash 모두 string serializer)
+    @Bean
+    public StringRedisTemplate cacheRedisTemplate() {
+        return new StringRedisTemplate(cacheRedisConnectionFactory());
+    }
+
+    // 다른 인스턴스에서 발생한 block / 사용자 변경 수신 -> near cache 무효화
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(UserBlockNearCache userBlockNearCache, BlockedUserFilter blockedUserFilter, UserNearCache userNearCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.addMessageListener(
+                blockInvalidationListener(blockedUserFilter, userBlockNearCache),
+                new ChannelTopic(UserBlockNearCache.INVALIDATION_CHANNEL)
+        );
+        container.addMessageListener(
+                (message, pattern) -> userNearCache.onInvalidationMessage(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(UserNearCache.INVALIDATION_CHANNEL)
+        );
+        return container;
+    }
+
+    // 새 차단은 filter 에 먼저 추가한 뒤 near cache 를 비운다. (무효화 직후의 조회가 filter 에서 "차단 없음" 으로 끝나지 않도록)
+    public static MessageListener blockInvalidationListener(BlockedUserFilter blockedUserFilter, UserBlockNearCache userBlockNearCache) {
+        return (message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            blockedUserFilter.onInvalidationMessage(body);
+            userBlockNearCache.onInvalidationMessage(body);
+        };
+    }
 }
@@ -0,0 +1,148 @@
+package com.nodove.community.nodove.configuration.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// 비밀번호 hashing 을 전용 고정 크기 executor 에서 수행하는 PasswordEncoder.
+// 동시에 실행되는 bcrypt 수를 코어 수 정도로 제한하고, 대기열이 가득 차면 즉시 거절한다.
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean, MeterBinder {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final LongAdder rejectedCount = new LongAdder();
+
+    // bindTo 전 (benchmark 등) 에는 null -> 측정 생략
+    private volatile Timer encodeTimer;
+    private volatile Timer matchesTimer;
+    private volatile Timer queueWaitTimer;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // hashTimer: executor 안에서의 hashing 시간, queueWaitTimer: 제출부터 hashing 시작까지 대기 시간
+    private <T> T submit(Callable<T> task, Timer hashTimer) {
+        Timer waitTimer = this.queueWaitTimer;
+        long submittedAt = System.nanoTime();
+        Callable<T> timedTask = hashTimer == null ? task : () -> {
+            long startedAt = System.nanoTime();
+            if (waitTimer != null) {
+                waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+            }
+            try {
+                return task.call();
+            } finally {
+                hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+        Future<T> future;
+        try {
+            future = executor.submit(timedTask);
+        } catch (RejectedExecutionException e) {
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("Password hashing is overloaded", e);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.increment();
+            throw new PasswordHashingRejectedException("Password hashing timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingRejectedException("Password hashing interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    public long rejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.encodeTimer = hashingTimer(registry, "encode");
+        this.matchesTimer = hashingTimer(registry, "matches");
+        this.queueWaitTimer = Timer.builder("auth.password.hashing.queue_wait")
+                .description("Wait time before a hashing thread picks up the task")
+                .register(registry);
+        Gauge.builder("auth.password.hashing.queue", this, BoundedPasswordEncoder::queueDepth)
+                .register(registry);
+        Gauge.builder("auth.password.hashing.active", this, BoundedPasswordEncoder::activeCount)
+                .register(registry);
+        FunctionCounter.builder("auth.password.hashing.rejected", this, BoundedPasswordEncoder::rejectedCount)
+                .register(registry);
+    }
+
+    private static Timer hashingTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("auth.password.hashing")
+                .description("Password hashing latency on the dedicated executor")
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,62 @@
+package com.nodove.community.nodove.configuration.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// 이메일 인증 코드 저장용 keyed HMAC-SHA256.
+// 인증 코드는 1회용 랜덤 값이라 bcrypt 같은 느린 hash 가 필요 없다. (Redis 유출 시 key 없이는 역산 불가)
+// key 는 JWT 서명 key 와 공유하지 않는 전용 값이어야 한다. (mail.verification.hmac-key, 필수)
+@Component
+public class EmailCodeHmac {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+
+    private final ThreadLocal<Mac> mac;
+
+    public EmailCodeHmac(@Value("${mail.verification.hmac-key}") String key) {
+        if (key == null || key.getBytes(StandardCharsets.UTF_8).length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("mail.verification.hmac-key must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        SecretKeySpec keySpec = new SecretKeySpec(key.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(ALGORITHM);
+                instance.init(keySpec);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to initialize " + ALGORITHM, e);
+            }
+        });
+    }
+
+    // 이메일을 함께 묶어 다른 계정의 코드로는 검증되지 않도록 한다.
+    public String sign(String email, String code) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest(email, code));
+    }
+
+    // 상수 시간 비교
+    public boolean verify(String email, String code, String signature) {
+        if (email == null || code == null || signature == null) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            expected = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, digest(email, code));
+    }
+
+    private byte[] digest(String email, String code) {
+        return mac.get().doFinal(("email-code:" + email + ":" + code).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,17 +1,17 @@
 package com.nodove.community.nodove.configuration.security.JWT;
 
 import com.nodove.community.nodove.configuration.security.constructor.PrincipalDetails;
+import com.nodove.community.nodove.configuration.security.constructor.TokenPrincipalDetails;
 import com.nodove.community.nodove.constants.JwtValidity;
 import com.nodove.community.nodove.domain.security.Token;
-import com.nodove.community.nodove.domain.users.User;
-import com.nodove.community.nodove.domain.users.UserBlock;
 import com.nodove.community.nodove.domain.users.UserRole;
-import com.nodove.community.nodove.dto.response.ApiResponseDto;
+import com.nodove.community.nodove.dto.response.ResponseCode;
 import com.nodove.community.nodove.dto.response.ResponseStatusManager;
 import com.nodove.community.nodove.dto.security.TokenDto;
 import com.nodove.community.nodove.dto.user.UserBlockDto;
-import com.nodove.community.nodove.repository.users.UserRepository;
+import com.nodove.community.nodove.dto.user.CachedUserDto;
 import com.nodove.community.nodove.service.RedisServiceManager;
+import com.nodove.community.nodove.service.UserCacheManager;
 import com.nodove.community.nodove.service.UserBlockService;
 import com.nodove.community.nodove.service.UserBlockServiceManager;
 import io.jsonwebtoken.*;
@@ -40,27 +40,45 @@ public class JwtUtility implements JwtUtilityManager {
 
     private final Key accessKey;
     private final Key refreshKey;
+    // JwtParser 는 불변 / thread-safe 이므로 key 별로 한 번만 생성해서 재사용
+    private final JwtParser accessParser;
+    private final JwtParser refreshParser;
     private final RedisServiceManager redisService;
     private final UserBlockServiceManager userBlockService;
-    private final UserRepository userRepository;
+    private final UserCacheManager userCache;
     private final ResponseStatusManager responseStatusManager;
 
 
     public JwtUtility(
             @Value("${jwt.secret-key.access}") String accessKey,
-            @Value("${jwt.secret-key.refresh}") String refreshKey, RedisServiceManager redisService, UserBlockServiceManager userBlockService, UserRepository userRepository, ResponseStatusManager responseStatusManager
+            @Value("${jwt.secret-key.refresh}") String refreshKey, RedisServiceManager redisService, UserBlockServiceManager userBlockService, UserCacheManager userCache, ResponseStatusManager responseStatusManager
     ) {
         this.accessKey = Keys.hmacShaKeyFor(accessKey.getBytes());
         this.refreshKey = Keys.hmacShaKeyFor(refreshKey.getBytes());
+        this.accessParser = buildParser(this.accessKey);
+        this.refreshParser = buildParser(this.refreshKey);
         this.redisService = redisService;
         this.userBlockService = userBlockService;
-        this.userRepository = userRepository;
+        this.userCache = userCache;
         this.responseStatusManager = responseStatusManager;
     }
 
+    private static JwtParser buildParser(Key key) {
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(60) // 60초 허용
+                .build();
+    }
+
+    // type 0: access token, type 1: refresh token
+    private JwtParser parserFor(int type) {
+        return type == 0 ? this.accessParser : this.refreshParser;
+    }
+
+    // role / email 은 항상 현재 사용자 정보 (user cache, hit 시 DB 조회 없음) 로 채운다.
     @Override
     public String generateReissuedAccessToken(String userId) {
-        User user = this.userRepository.findByUserId(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
+        CachedUserDto user = this.userCache.findByUserId(userId).orElseThrow(() -> new IllegalArgumentException("User not found"));
         List<UserRole> role = Collections.singletonList(user.getUserRole());
         String email = user.getEmail();
         return generateAcessToken(role, userId, email);
@@ -82,18 +100,24 @@ public class JwtUtility implements JwtUtilityManager {
                 .claim("userId", userId)
                 .claim("email", email)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JwtValidity.ACCESS_TOKEN.getValidityInSeconds()))
+                .setExpiration(new Date(System.currentTimeMillis() + JwtValidity.ACCESS_TOKEN.getValidityInMillis()))
                 .signWith(accessKey)
                 .compact();
     }
 
     protected String generateRefreshToken(PrincipalDetails principalDetails) {
-        String userId = principalDetails.getUserId();
+        return generateRefreshToken(principalDetails.getUserId(), System.currentTimeMillis() + JwtValidity.REFRESH_TOKEN.getValidityInMillis());
+    }
 
+    // rotation 시에는 최초 로그인 시점의 만료 시각을 유지한다. (session 최대 수명 고정)
+    // jti 로 같은 초에 발급된 token 끼리도 구분되도록 한다. (재사용 감지)
+    @Override
+    public String generateRefreshToken(String userId, long expiresAtMillis) {
         return Jwts.builder()
                 .setSubject("refresh")
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JwtValidity.REFRESH_TOKEN.getValidityInSeconds()))
+                .setExpiration(new Date(expiresAtMillis))
                 .claim("userId", userId)
                 .signWith(refreshKey)
                 .compact();
@@ -109,53 +133,16 @@ public class JwtUtility implements JwtUtilityManager {
     }
 
 
-    @Override
-    public UsernamePasswordAuthenticationToken getAuthentication(String token) {
-        try {
-            Jws<Claims> claims = Jwts.parserBuilder()
-                    .setSigningKey(accessKey)
-                    .build()
-                    .parseClaimsJws(token);
-
-            String userId = claims.getBody().get("userId", String.class);
-            List<String> role = claims.getBody().get("role", List.class);
-            String email = claims.getBody().get("email", String.class);
-
-            User user = User.builder()
-                    .userId(userId)
-                    .email(email)
-                    .userRole(UserRole.valueOf(role.get(0)))
-                    .build();
-
-
-            UserBlockDto userBlock = this.userBlockService.getBlockCaching(userId);
-
-            UserBlock checkUserBlock = UserBlock.builder()
-                    .unblockedAt(LocalDateTime.parse(userBlock.getUnblockedAt()))
-                    .build();
-
-            UserDetails userDetails = new PrincipalDetails(user, checkUserBlock);
-            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-        } catch (Exception e) {
-            log.error("Error while parsing token: {}", e.getMessage());
-            return null;
-        }
-    }
-
+    // 서명 검증 + claims 디코딩을 한 번만 수행한다.
+    // 만료된 토큰도 서명은 검증된 상태이므로 expired=true 로 claims 를 그대로 돌려준다.
     // type 0: access token, type 1: refresh token
     @Override
-    public boolean isTokenExpired(String token, int type) {
+    public VerifiedClaims verifyToken(String token, int type) {
         try {
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(type == 0 ? accessKey : refreshKey)
-                    .setAllowedClockSkewSeconds(60) // 60초 허용
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.getExpiration().before(new Date());
+            return VerifiedClaims.from(parserFor(type).parseClaimsJws(token).getBody(), false);
         } catch (ExpiredJwtException e) {
             log.warn("Token expired: {}", e.getMessage());
-            return true; // 토큰 만료
+            return VerifiedClaims.from(e.getClaims(), true); // 토큰 만료
         } catch (UnsupportedJwtException e) {
             log.error("Unsupported JWT token: {}", e.getMessage());
             throw new IllegalArgumentException("지원되지 않는 JWT 토큰 형식입니다.", e);
@@ -171,6 +158,45 @@ public class JwtUtility implements JwtUtilityManager {
         }
     }
 
+    @Override
+    public UsernamePasswordAuthenticationToken getAuthentication(String token) {
+        try {
+            return getAuthentication(verifyToken(token, 0));
+        } catch (Exception e) {
+            log.error("Error while parsing token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public UsernamePasswordAuthenticationToken getAuthentication(VerifiedClaims claims) {
+        if (claims == null || claims.isExpired()) {
+            return null;
+        }
+        try {
+            String userId = claims.getUserId();
+            UserBlockDto userBlock = this.userBlockService.getBlockCaching(userId);
+
+            UserDetails userDetails = new TokenPrincipalDetails(
+                    userId,
+                    claims.getEmail(),
+                    claims.getPrimaryRole(),
+                    userBlock != null && userBlock.isBlocked(),
+                    userBlock != null && userBlock.getUnblockedAt() != null ? LocalDateTime.parse(userBlock.getUnblockedAt()) : null
+            );
+            return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        } catch (Exception e) {
+            log.error("Error while building authentication: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    // type 0: access token, type 1: refresh token
+    @Override
+    public boolean isTokenExpired(String token, int type) {
+        return verifyToken(token, type).isExpired();
+    }
+
     @Override
     public String getRefreshToken(HttpServletRequest request) {
         Cookie[] cookies = request.getCookies();
@@ -190,49 +216,59 @@ public class JwtUtility implements JwtUtilityManager {
     @Override
     public Map<String, Object> parseToken(String token, int type)
     {
-        Key key = (type == 0) ? this.accessKey : this.refreshKey;
-
-        Jws<Claims> parsedToken = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
+        Claims claims = parserFor(type).parseClaimsJws(token).getBody();
 
         Map<String, Object> result = new HashMap<>();
         if (type == 0) {
-            result.put("userId", parsedToken.getBody().get("userId"));
-            result.put("email", parsedToken.getBody().get("email"));
-            result.put("role", parsedToken.getBody().get("role"));
+            result.put("userId", claims.get("userId"));
+            result.put("email", claims.get("email"));
+            result.put("role", claims.get("role"));
         } else {
-            result.put("userId", parsedToken.getBody().getSubject());
-            result.put("exp", parsedToken.getBody().getExpiration());
+            // refresh token 의 subject 는 "refresh" 고정값이므로 userId 는 claim 에서 읽는다.
+            result.put("userId", claims.get("userId"));
+            result.put("exp", claims.getExpiration());
         }
         return result;
     }
 
     // token 전달 시, response에 token을 담아서 전달.
+    // header 는 body 를 쓰기 전에 설정해야 한다. (body 기록 후 commit 되면 header 가 무시됨)
     @Override
     public void loginResponse(HttpServletResponse response, TokenDto tokenDto, String deviceId) throws IOException {
         // response 초기화
         response.reset();
+        addTokenHeaders(response, tokenDto, deviceId);
+        responseStatusManager.write(response, ResponseCode.LOGIN_SUCCESS);
+    }
+
+    @Override
+    public void addTokenHeaders(HttpServletResponse response, TokenDto tokenDto, String deviceId) {
+        addRefreshTokenCookie(response, tokenDto.getRefreshToken());
+        response.setHeader(Token.ACCESS_TOKEN_HEADER.getHeaderName(),
+                Token.ACCESS_TOKEN_HEADER.createHeaderPrefix(tokenDto.getAccessToken()));
+        response.setHeader(Token.REFRESH_TOKEN_HEADER.getHeaderName(),
+                Token.REFRESH_TOKEN_HEADER.createHeaderPrefix(tokenDto.getRefreshToken()));
+        response.setHeader(Token.DEVICE_ID_HEADER.getHeaderName(), deviceId);
+    }
 
-        // cookie-start
-        Cookie newCookie = new Cookie("refreshToken", tokenDto.getRefreshToken());
+    @Override
+    public void addRefreshTokenCookie(HttpServletResponse response, String refreshToken) {
+        Cookie newCookie = new Cookie("refreshToken", refreshToken);
         newCookie.setHttpOnly(true); // TODO : Http-only 으로 수정 | secure 설정
         newCookie.setSecure(true);
         newCookie.setDomain(null); // TODO : domain 설정  | test 하느라 null 설정함
         newCookie.setPath("/");
         response.addCookie(newCookie);
-        // cookie-end
+    }
 
-        response.setStatus(HttpServletResponse.SC_OK);
-        response.getWriter().write(responseStatusManager.success(
-                response,"TOKEN_REISSUED","토큰이 재발급되었습니다.","success"
-        ));
-        response.addHeader(Token.ACCESS_TOKEN_HEADER.getHeaderName(),
-                Token.ACCESS_TOKEN_HEADER.createHeaderPrefix(tokenDto.getAccessToken()));
-        response.addHeader(Token.REFRESH_TOKEN_HEADER.getHeaderName(),
-                Token.REFRESH_TOKEN_HEADER.createHeaderPrefix(tokenDto.getRefreshToken()));
-        response.addHeader(Token.DEVICE_ID_HEADER.getHeaderName(), deviceId);
+    @Override
+    public void clearRefreshTokenCookie(HttpServletResponse response) {
+        Cookie expiredCookie = new Cookie("refreshToken", null);
+        expiredCookie.setHttpOnly(true);
+        expiredCookie.setSecure(true);
+        expiredCookie.setPath("/");
+        expiredCookie.setMaxAge(0);
+        response.addCookie(expiredCookie);
     }
 
 }
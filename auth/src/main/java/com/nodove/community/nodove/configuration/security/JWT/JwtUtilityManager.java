@@ -14,10 +14,18 @@ public interface JwtUtilityManager{
 
     String generateReissuedAccessToken(String userId);
 
+    String generateRefreshToken(String userId, long expiresAtMillis);
+
     TokenDto generateToken(Authentication authentication);
 
+    // 서명 검증 + claims 디코딩 1회, 결과는 요청 내에서 재사용
+    // type 0: access token, type 1: refresh token
+    VerifiedClaims verifyToken(String token, int type);
+
     UsernamePasswordAuthenticationToken getAuthentication(String token);
 
+    UsernamePasswordAuthenticationToken getAuthentication(VerifiedClaims claims);
+
     boolean isTokenExpired(String token, int type);
     String getRefreshToken(HttpServletRequest request);
 
@@ -27,4 +35,12 @@ public interface JwtUtilityManager{
 
     // token 전달 시, response에 token을 담아서 전달.
     void loginResponse(HttpServletResponse response, TokenDto tokenDto, String deviceId) throws IOException;
+
+    // access / refresh token header + refresh token cookie + device id header (body 는 쓰지 않음)
+    void addTokenHeaders(HttpServletResponse response, TokenDto tokenDto, String deviceId);
+
+    void addRefreshTokenCookie(HttpServletResponse response, String refreshToken);
+
+    // 로그아웃 시 refresh token cookie 삭제
+    void clearRefreshTokenCookie(HttpServletResponse response);
 }
@@ -0,0 +1,49 @@
+package com.nodove.community.nodove.configuration.security.JWT;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+// 서명 검증이 끝난 JWT claims 의 불변 스냅샷.
+// 요청당 한 번만 파싱하고 filter / getAuthentication / refresh 경로에서 재사용한다.
+@Getter
+@ToString
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class VerifiedClaims {
+
+    private final String subject;
+    private final String userId;
+    private final String email;
+    private final List<String> roles;
+    private final long issuedAt;   // epoch millis
+    private final long expiresAt;  // epoch millis
+    private final boolean expired;
+
+    // expired: 서명은 유효하지만 exp 가 지난 토큰 (ExpiredJwtException 의 claims)
+    // 만료 판단은 parser 에만 맡긴다. (60초 clock skew 허용, 공용 AccessTokenVerifier 와 같은 기준)
+    @SuppressWarnings("unchecked")
+    static VerifiedClaims from(Claims claims, boolean expired) {
+        List<String> roles = claims.get("role", List.class);
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("email", String.class),
+                roles == null ? Collections.emptyList() : Collections.unmodifiableList(roles),
+                issuedAt == null ? 0L : issuedAt.getTime(),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime(),
+                expired
+        );
+    }
+
+    public String getPrimaryRole() {
+        return roles.isEmpty() ? null : roles.get(0);
+    }
+}
@@ -0,0 +1,127 @@
+package com.nodove.community.nodove.configuration.security.JWT;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// 검증이 끝난 access token -> Authentication 캐시 (optional, jwt.cache.enabled)
+// key: 토큰 전체의 SHA-256 digest, 만료: 토큰 자체의 exp, 용량: 추정 byte 수 기준 hard cap
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    // key(43 chars) + Entry + VerifiedClaims + Authentication + authority 객체들의 대략적인 고정 크기
+    private static final int ENTRY_OVERHEAD_BYTES = 640;
+
+    private final boolean enabled;
+    private final long blockStalenessMillis;
+    private final Cache<String, Entry> cache;
+
+    public VerifiedTokenCache(
+            @Value("${jwt.cache.enabled:false}") boolean enabled,
+            @Value("${jwt.cache.max-bytes:16777216}") long maxBytes,
+            @Value("${jwt.cache.block-staleness-seconds:30}") long blockStalenessSeconds
+    ) {
+        this.enabled = enabled;
+        this.blockStalenessMillis = TimeUnit.SECONDS.toMillis(blockStalenessSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        log.info("VerifiedTokenCache enabled={}, maxBytes={}, blockStalenessSeconds={}", enabled, maxBytes, blockStalenessSeconds);
+    }
+
+    // 캐시 미스 / 비활성화 시 null
+    public Entry get(String token) {
+        if (!enabled || token == null) {
+            return null;
+        }
+        return cache.getIfPresent(TokenDigest.of(token));
+    }
+
+    public void put(String token, VerifiedClaims claims, UsernamePasswordAuthenticationToken authentication) {
+        if (!enabled || token == null || claims == null || authentication == null || claims.isExpired()) {
+            return;
+        }
+        cache.put(TokenDigest.of(token), new Entry(claims, authentication, System.currentTimeMillis() + blockStalenessMillis));
+    }
+
+    public void invalidate(String token) {
+        if (enabled && token != null) {
+            cache.invalidate(TokenDigest.of(token));
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // hit / miss / eviction 통계
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Entry {
+        private final VerifiedClaims claims;
+        private final UsernamePasswordAuthenticationToken authentication;
+        private final long staleAt; // epoch millis, 저장 시각 + jwt.cache.block-staleness-seconds
+
+        // block 상태를 다시 확인해야 하는지
+        public boolean isStale() {
+            return System.currentTimeMillis() > staleAt;
+        }
+
+        private int weight() {
+            int strings = length(claims.getUserId()) + length(claims.getEmail()) + length(claims.getSubject());
+            for (String role : claims.getRoles()) {
+                strings += length(role);
+            }
+            return ENTRY_OVERHEAD_BYTES + strings * 2;
+        }
+
+        private int length(String value) {
+            return value == null ? 0 : value.length();
+        }
+    }
+
+    // 각 entry 는 토큰의 exp 시각에 만료된다.
+    private static class TokenExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            long remainingMillis = entry.getClaims().getExpiresAt() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0L, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,17 +1,66 @@
 package com.nodove.community.nodove.configuration.security;
 
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Map;
+
+@Slf4j
 @Configuration
 public class PasswordEncoderConfig {
+
+    private static final int MIN_BCRYPT_STRENGTH = 4;
+    private static final int MAX_BCRYPT_STRENGTH = 14;
+
+    // 0 이면 target-millis 에 맞춰 기동 시 보정
+    @Value("${password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${password.bcrypt.target-millis:250}")
+    private long bcryptTargetMillis;
+
+    // 0 이면 가용 코어 수
+    @Value("${password.hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${password.hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${password.hashing.timeout-ms:2000}")
+    private long hashingTimeoutMillis;
+
+    // MeterBinder 로도 등록되도록 구현 타입으로 노출
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder() {
+        int strength = bcryptStrength > 0 ? bcryptStrength : calibrateBcryptStrength(bcryptTargetMillis);
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        log.info("PasswordEncoder: bcrypt strength={}, hashing threads={}, queue={}", strength, threads, hashingQueueCapacity);
+
+        PasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        return new BoundedPasswordEncoder(delegating, threads, hashingQueueCapacity, hashingTimeoutMillis);
+    }
+
+    // 한 번의 encode 가 targetMillis 이하인 가장 높은 strength 를 고른다.
+    static int calibrateBcryptStrength(long targetMillis) {
+        int chosen = MIN_BCRYPT_STRENGTH;
+        for (int strength = MIN_BCRYPT_STRENGTH; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+            BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+            encoder.encode("calibration"); // warm-up
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis > targetMillis) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
     }
 
 }
@@ -0,0 +1,15 @@
+package com.nodove.community.nodove.configuration.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// password hashing executor 가 포화 상태라 요청을 즉시 거절한 경우 (503 으로 응답)
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+
+    public PasswordHashingRejectedException(String message) {
+        super(message);
+    }
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.nodove.community.nodove.configuration.security;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+// 계정 단위 로그인 시도 한도 초과 (password 검증 전에 거절, 429 로 응답)
+public class RateLimitedException extends AuthenticationServiceException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,9 +1,14 @@
 package com.nodove.community.nodove.configuration.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
 import com.nodove.community.nodove.configuration.security.JWT.JwtUtilityManager;
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedTokenCache;
+import com.nodove.community.nodove.dto.response.ResponseStatusManager;
 import com.nodove.community.nodove.filter.AuthenticationFilter;
 import com.nodove.community.nodove.filter.AuthorizationFilter;
+import com.nodove.community.nodove.filter.RateLimitFilter;
+import com.nodove.community.nodove.service.RateLimiter;
 import com.nodove.community.nodove.service.RedisServiceManager;
 import com.nodove.community.nodove.service.UserServiceManager;
 import lombok.RequiredArgsConstructor;
@@ -33,6 +38,10 @@ public class SecurityConfig {
     private final JwtUtilityManager jwtUtility;
     private final RedisServiceManager redisService;
     private final UserServiceManager userService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthMetrics authMetrics;
+    private final ResponseStatusManager responseStatusManager;
+    private final RateLimiter rateLimiter;
 
     private final AuthenticationConfiguration authenticationConfiguration;
     private final CorsConfigurationSource corsConfigurationSource;
@@ -56,8 +65,10 @@ public class SecurityConfig {
         http.csrf(AbstractHttpConfigurer::disable);
         http.httpBasic(AbstractHttpConfigurer::disable);
         http.sessionManagement(management->management.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
-        http.addFilterBefore(new AuthorizationFilter(this.jwtUtility, this.objectMapper, this.redisService, this.userService), UsernamePasswordAuthenticationFilter.class);
-        http.addFilterAt(new AuthenticationFilter(authenticationManager(), this.jwtUtility, this.objectMapper, this.redisService, this.userService), UsernamePasswordAuthenticationFilter.class);
+        // 한도 초과 요청은 인증 / password 검증 전에 429
+        http.addFilterBefore(new RateLimitFilter(this.rateLimiter, this.responseStatusManager), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(new AuthorizationFilter(this.jwtUtility, this.responseStatusManager, this.redisService, this.userService, this.verifiedTokenCache, this.authMetrics), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAt(new AuthenticationFilter(authenticationManager(), this.jwtUtility, this.objectMapper, this.redisService, this.userService, this.responseStatusManager, this.rateLimiter), UsernamePasswordAuthenticationFilter.class);
 
         http.authorizeHttpRequests((authorize) -> {
             authorize.requestMatchers(PathRequest.toStaticResources().atCommonLocations()).permitAll();
@@ -1,8 +1,7 @@
 package com.nodove.community.nodove.configuration.security.constructor;
 
-import com.nodove.community.nodove.domain.users.User;
-import com.nodove.community.nodove.domain.users.UserBlock;
-import com.nodove.community.nodove.repository.users.UserBlockRepository;
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
+import com.nodove.community.nodove.dto.user.UserWithActiveBlockDto;
 import com.nodove.community.nodove.repository.users.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,23 +10,28 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PrincipalDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final UserBlockRepository userBlockRepository;
+    private final AuthMetrics authMetrics;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        // 1. User 조회
-        User user = userRepository.findByEmail(username).orElseThrow(() -> new UsernameNotFoundException("해당 사용자를 찾을 수 없습니다."));
-
-        // 2. UserBlock 조회
-        UserBlock userBlock = userBlockRepository.findActiveBlockByUserId((user.getId())).orElse(null);
+        long start = System.nanoTime();
+        try {
+            // 1. User + 현재 UserBlock 을 한 번의 query 로 조회
+            UserWithActiveBlockDto row = userRepository.findWithActiveBlockByEmail(username, LocalDateTime.now())
+                    .orElseThrow(() -> new UsernameNotFoundException("해당 사용자를 찾을 수 없습니다."));
 
-        // 3. principalDetails 생성
-        return new PrincipalDetails(user, userBlock);
+            // 2. principalDetails 생성 (인증 이후 단계는 이 principal 을 그대로 사용, 재조회 없음)
+            return new PrincipalDetails(row.getUser(), row.getUserBlock());
+        } finally {
+            authMetrics.recordUserLoad(start);
+        }
     }
 }
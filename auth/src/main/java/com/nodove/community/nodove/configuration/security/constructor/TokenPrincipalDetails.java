@@ -0,0 +1,66 @@
+package com.nodove.community.nodove.configuration.security.constructor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+
+// access token claims 로부터 바로 만드는 경량 principal (JPA User / UserBlock 생성 없음)
+@Getter
+@RequiredArgsConstructor
+public class TokenPrincipalDetails implements UserDetails {
+
+    private final String userId;
+    private final String email;
+    private final String role;
+    private final boolean blocked;
+    private final LocalDateTime unblockedAt;
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        if (this.role == null) {
+            return Collections.emptyList();
+        }
+        return Collections.singletonList(new SimpleGrantedAuthority(this.role));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return this.email;
+    }
+
+    // UserBlock.checkIsBlocked 와 동일한 규칙: unblockedAt 이 없으면 영구 차단
+    private boolean isCurrentlyBlocked() {
+        return blocked && (unblockedAt == null || LocalDateTime.now().isBefore(unblockedAt));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return !isCurrentlyBlocked();
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !isCurrentlyBlocked();
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !isCurrentlyBlocked();
+    }
+}
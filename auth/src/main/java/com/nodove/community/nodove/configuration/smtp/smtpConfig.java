@@ -3,7 +3,6 @@ package com.nodove.community.nodove.configuration.smtp;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -19,9 +18,13 @@ public class smtpConfig {
     private String username;
     @Value("${spring.mail.password}")
     private String password;
+    // 로컬 SMTP stand-in 으로 테스트할 때는 false
+    @Value("${smtp.ssl.enabled:true}")
+    private boolean sslEnabled;
 
+    // MailOutboxWorker 가 Session / 접속 정보를 사용하므로 구현 타입으로 노출
     @Bean
-    public JavaMailSender mailSender() {
+    public JavaMailSenderImpl mailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost(this.host);
         mailSender.setPort(this.port);
@@ -30,12 +33,14 @@ public class smtpConfig {
 
         Properties javaMailProperties = new Properties();
         javaMailProperties.put("mail.transport.protocol", "smtp");
-        javaMailProperties.put("mail.smtp.auth", "true");
-        javaMailProperties.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
-        javaMailProperties.put("mail.smtp.starttls.enable", "true");
+        javaMailProperties.put("mail.smtp.auth", String.valueOf(this.username != null && !this.username.isEmpty()));
         javaMailProperties.put("mail.debug", "true");//디버깅 정보 출력
-        javaMailProperties.put("mail.smtp.ssl.trust", "smtp.gmail.com");//smtp 서버의 ssl 인증서를 신뢰
-        javaMailProperties.put("mail.smtp.ssl.protocols", "TLSv1.2");//사용할 ssl 프로토콜 버젼
+        if (this.sslEnabled) {
+            javaMailProperties.put("mail.smtp.socketFactory.class", "javax.net.ssl.SSLSocketFactory");
+            javaMailProperties.put("mail.smtp.starttls.enable", "true");
+            javaMailProperties.put("mail.smtp.ssl.trust", "smtp.gmail.com");//smtp 서버의 ssl 인증서를 신뢰
+            javaMailProperties.put("mail.smtp.ssl.protocols", "TLSv1.2");//사용할 ssl 프로토콜 버젼
+        }
         mailSender.setJavaMailProperties(javaMailProperties);
         return mailSender;
     }
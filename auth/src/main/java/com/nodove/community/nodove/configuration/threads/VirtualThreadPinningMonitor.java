@@ -0,0 +1,105 @@
+package com.nodove.community.nodove.configuration.threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// virtual thread 가 carrier thread 에 고정(pinning)되는 구간 감지.
+// synchronized 블록 / native 호출 안에서 block 되면 carrier 가 묶여 처리량이 platform thread 수준으로 떨어진다.
+// JFR jdk.VirtualThreadPinned 이벤트를 in-process 로 구독하며, 호출 위치(첫 애플리케이션 frame)별로 집계한다.
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private final Map<String, LongAdder> pinnedSites = new ConcurrentHashMap<>();
+
+    private volatile RecordingStream recordingStream;
+
+    public VirtualThreadPinningMonitor(@Value("${virtual-threads.pinning.threshold-ms:20}") long thresholdMillis) {
+        this.threshold = Duration.ofMillis(thresholdMillis);
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        String site = pinnedSite(event.getStackTrace());
+        LongAdder siteCount = pinnedSites.computeIfAbsent(site, key -> new LongAdder());
+        siteCount.increment();
+        // 같은 위치는 처음 한 번만 경고 (이후에는 카운트만)
+        if (siteCount.sum() == 1) {
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    // JDK / 라이브러리 내부가 아닌, pinning 을 유발한 첫 frame
+    private static String pinnedSite(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame fallback = stackTrace.getFrames().get(0);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return describe(frame);
+            }
+        }
+        return describe(fallback);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void start() {
+        RecordingStream stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        this.recordingStream = stream;
+        log.info("Virtual thread pinning monitor started: threshold={} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream stream = this.recordingStream;
+        this.recordingStream = null;
+        if (stream != null) {
+            stream.close();
+        }
+        if (pinnedCount.sum() > 0) {
+            log.warn("Virtual thread pinning summary: total={}, sites={}", pinnedCount.sum(), pinnedSites());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    public long pinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    public Map<String, Long> pinnedSites() {
+        Map<String, Long> snapshot = new ConcurrentHashMap<>();
+        pinnedSites.forEach((site, count) -> snapshot.put(site, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+}
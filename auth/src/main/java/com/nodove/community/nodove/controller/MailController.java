@@ -1,5 +1,6 @@
 package com.nodove.community.nodove.controller;
 
+import com.nodove.community.nodove.dto.response.ResponseCode;
 import com.nodove.community.nodove.dto.response.ResponseStatusManager;
 import com.nodove.community.nodove.service.SmtpServiceManager;
 import com.nodove.community.nodove.service.UserServiceManager;
@@ -24,59 +25,29 @@ public class MailController {
                                                       @RequestParam("email") String email,
                                                       @RequestParam("code") String encryptedCode) {
         if (email == null || encryptedCode == null) {
-            return ResponseEntity.badRequest().body(
-                    responseStatus.error(response,
-                            "error",
-                            "EMAIL_CODE_NOT_FOUND",
-                            "EMAIL_CODE_NOT_FOUND")
-            );
+            return responseStatus.entity(ResponseCode.EMAIL_CODE_NOT_FOUND);
         }
 
         if (!smtpServiceManager.checkEmailCodeValidation(email, encryptedCode)) {
-            return ResponseEntity.badRequest().body(
-                    responseStatus.error(response,
-                            "error",
-                            "EMAIL_CODE_VALIDATION_FAILED",
-                            "EMAIL_CODE_VALIDATION_FAILED")
-            );
+            return responseStatus.entity(ResponseCode.EMAIL_CODE_VALIDATION_FAILED);
         }
 
         if (!userServiceManager.updateEmailValidation(email)) {
-            return ResponseEntity.badRequest().body(
-                    responseStatus.error(response,
-                            "error",
-                            "EMAIL_CODE_VALIDATION_FAILED",
-                            "EMAIL_CODE_VALIDATION_FAILED")
-            );
+            return responseStatus.entity(ResponseCode.EMAIL_CODE_VALIDATION_FAILED);
         }
 
-        return ResponseEntity.ok().body(
-                responseStatus.success(response,
-                        "success",
-                        "EMAIL_CODE_VALIDATION_SUCCESS",
-                        "EMAIL_CODE_VALIDATION_SUCCESS")
-        );
+        return responseStatus.entity(ResponseCode.EMAIL_CODE_VALIDATION_SUCCESS);
     }
 
     @PostMapping("/join/email/resend")
     public ResponseEntity<?> resendJoinMail(HttpServletResponse response, @RequestParam("email") String email){
         if (email == null) {
-            return ResponseEntity.badRequest().body(
-                    responseStatus.error(response,
-                            "error",
-                            "EMAIL_NOT_FOUND",
-                            "EMAIL_NOT_FOUND")
-            );
+            return responseStatus.entity(ResponseCode.EMAIL_NOT_FOUND);
         }
 
 
         smtpServiceManager.sendJoinMail(email);
 
-        return ResponseEntity.ok().body(
-                responseStatus.success(response,
-                        "success",
-                        "EMAIL_RESEND_SUCCESS",
-                        "EMAIL_RESEND_SUCCESS")
-        );
+        return responseStatus.entity(ResponseCode.EMAIL_RESEND_SUCCESS);
     }
 }
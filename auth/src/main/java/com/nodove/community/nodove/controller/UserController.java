@@ -14,9 +14,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -69,9 +71,25 @@ public class UserController {
     }
 
 
+    @Operation(summary = "로그아웃", description = "현재 기기 또는 모든 기기(all=true)에서 로그아웃합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "로그아웃 성공"),
+            @ApiResponse(responseCode = "400", description = "로그아웃 실패")
+    })
     @PutMapping("/auth/logout")
-    public ResponseEntity<?> logoutUser(HttpServletRequest request, HttpServletResponse response) {
-        return this.userService.logoutUser(request, response);
+    public ResponseEntity<?> logoutUser(HttpServletRequest request, HttpServletResponse response,
+                                        @RequestParam(value = "all", defaultValue = "false") boolean allDevices) {
+        return this.userService.logoutUser(request, response, allDevices);
+    }
+
+    @Operation(summary = "로그인 기기 목록", description = "refresh token 이 발급된 기기 목록을 조회합니다.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "401", description = "refresh token 만료")
+    })
+    @GetMapping("/auth/sessions")
+    public ResponseEntity<?> getLoginSessions(HttpServletRequest request, HttpServletResponse response) {
+        return this.userService.getLoginSessions(request, response);
     }
 
 }
\ No newline at end of file
@@ -14,6 +14,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "user")
+@EntityListeners(UserCacheEvictionListener.class)
 @Builder
 @Data
 @NoArgsConstructor
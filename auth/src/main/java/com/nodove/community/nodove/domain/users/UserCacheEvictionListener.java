@@ -0,0 +1,24 @@
+package com.nodove.community.nodove.domain.users;
+
+import com.nodove.community.nodove.service.UserCacheManager;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+// User entity 변경 (dirty checking update / delete) 시 user cache 무효화.
+// Hibernate 가 Spring bean container 로 생성하며, EntityManagerFactory 초기화 중 순환 참조를 피하려고 ObjectProvider 로 지연 조회한다.
+// QueryDSL bulk update 는 이 listener 를 거치지 않으므로 호출하는 쪽에서 UserCacheManager.evict 를 직접 호출해야 한다.
+public class UserCacheEvictionListener {
+
+    private final ObjectProvider<UserCacheManager> userCache;
+
+    public UserCacheEvictionListener(ObjectProvider<UserCacheManager> userCache) {
+        this.userCache = userCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        userCache.ifAvailable(cache -> cache.evict(user.getUserId(), user.getEmail()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.nodove.community.nodove.dto.mail;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// mail outbox (Redis stream) 에 적재되는 메일 한 건
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MailMessageDto {
+
+    private String id;       // 재시도 시에도 유지되는 고유 id
+    private String to;
+    private String title;
+    private String content;  // html
+    private int attempt;     // 실패한 발송 시도 횟수
+}
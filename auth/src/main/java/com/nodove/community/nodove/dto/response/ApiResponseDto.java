@@ -1,10 +1,12 @@
 package com.nodove.community.nodove.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL) // 고정 응답에 data / pagination: null 을 싣지 않는다.
 public class ApiResponseDto<T> {
     private String status; // "success" or "error"
     private T data; // 실제 데이터
@@ -0,0 +1,48 @@
+package com.nodove.community.nodove.dto.response;
+
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Getter;
+
+// code / message 가 고정된 응답 목록.
+// ResponseStatus 가 기동 시 한 번만 JSON (UTF-8 byte[]) 으로 인코딩해 두고 그대로 내보낸다.
+@Getter
+public enum ResponseCode {
+    // login / register
+    LOGIN_SUCCESS(HttpServletResponse.SC_OK, "success", "로그인에 성공했습니다."),
+    LOGIN_OVERLOADED(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "error", "Login is temporarily overloaded, retry later"),
+    USER_DISABLED(HttpServletResponse.SC_UNAUTHORIZED, "error", "User is not enabled -> check email verification"),
+    REGISTER_OVERLOADED(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "error", "잠시 후 다시 시도해주세요."),
+    CREATED_USER_EMAIL_SEND(HttpServletResponse.SC_OK, "success", "이메일 인증을 완료해주세요."),
+
+    // token
+    TOKEN_REISSUED(HttpServletResponse.SC_OK, "success", "토큰이 재발급되었습니다."),
+    TOKEN_EXPIRED(HttpServletResponse.SC_UNAUTHORIZED, "error", "리프레시 토큰이 만료되었습니다. 다시 로그인해주세요."),
+    TOKEN_INVALID(HttpServletResponse.SC_UNAUTHORIZED, "error", "리프레시 토큰이 유효하지 않습니다. 다시 로그인해주세요."),
+    TOKEN_REUSED(HttpServletResponse.SC_UNAUTHORIZED, "error", "리프레시 토큰이 유효하지 않습니다. 다시 로그인해주세요."),
+    TOKEN_REFRESH_FAILED(HttpServletResponse.SC_BAD_REQUEST, "error", "토큰 재발급에 실패했습니다."),
+    UNAUTHORIZED(HttpServletResponse.SC_UNAUTHORIZED, "error", "Unauthorized"),
+    USER_BLOCKED(HttpServletResponse.SC_FORBIDDEN, "error", "User is blocked"),
+    INTERNAL_ERROR(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "error", "Internal Server Error"),
+    TOO_MANY_REQUESTS(429, "error", "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+
+    // logout
+    LOGOUT_SUCCESS(HttpServletResponse.SC_OK, "success", "로그아웃에 성공했습니다."),
+    LOGOUT_FAILED(HttpServletResponse.SC_BAD_REQUEST, "error", "로그아웃에 실패했습니다."),
+
+    // mail
+    EMAIL_CODE_NOT_FOUND(HttpServletResponse.SC_BAD_REQUEST, "error", "이메일 또는 인증 코드가 없습니다."),
+    EMAIL_CODE_VALIDATION_FAILED(HttpServletResponse.SC_BAD_REQUEST, "error", "이메일 인증에 실패했습니다."),
+    EMAIL_CODE_VALIDATION_SUCCESS(HttpServletResponse.SC_OK, "success", "이메일 인증에 성공했습니다."),
+    EMAIL_NOT_FOUND(HttpServletResponse.SC_BAD_REQUEST, "error", "이메일이 없습니다."),
+    EMAIL_RESEND_SUCCESS(HttpServletResponse.SC_OK, "success", "인증 메일을 다시 보냈습니다.");
+
+    private final int httpStatus;
+    private final String status;
+    private final String message;
+
+    ResponseCode(int httpStatus, String status, String message) {
+        this.httpStatus = httpStatus;
+        this.status = status;
+        this.message = message;
+    }
+}
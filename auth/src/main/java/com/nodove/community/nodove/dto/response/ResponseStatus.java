@@ -1,37 +1,94 @@
 package com.nodove.community.nodove.dto.response;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+// 고정 응답은 기동 시 byte[] 로 한 번만 인코딩해 두고, 요청마다 DTO 생성 / 직렬화 없이 그대로 기록한다.
+// 동적 응답은 미리 만들어 둔 ObjectWriter 로 output stream 에 바로 쓴다. (중간 String 없음)
 @Slf4j
 @Service
-public class ResponseStatus implements ResponseStatusManager{
+public class ResponseStatus implements ResponseStatusManager {
 
-    @Override
-    public String success(HttpServletResponse response, String status, String message, String code) {
-        if (!response.isCommitted()){
-            return ApiResponseDto.builder()
-                    .status(status)
-                    .code(code)
-                    .data(message == null ? "no data" : message)
-                    .build()
-                    .toString();
+    private static final String CONTENT_TYPE = MediaType.APPLICATION_JSON_VALUE + ";charset=UTF-8";
+
+    private final ObjectWriter writer;
+    private final Map<ResponseCode, byte[]> encoded = new EnumMap<>(ResponseCode.class);
+
+    public ResponseStatus(ObjectMapper objectMapper) {
+        // servlet output stream 은 container 가 닫는다.
+        this.writer = objectMapper.writerFor(ApiResponseDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        for (ResponseCode code : ResponseCode.values()) {
+            encoded.put(code, encode(code));
         }
-        return null;
+    }
+
+    private byte[] encode(ResponseCode code) {
+        try {
+            return writer.writeValueAsBytes(ApiResponseDto.builder()
+                    .status(code.getStatus())
+                    .code(code.name())
+                    .message(code.getMessage())
+                    .build());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode response " + code, e);
+        }
+    }
+
+    @Override
+    public byte[] body(ResponseCode code) {
+        return encoded.get(code);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> entity(ResponseCode code) {
+        return entity(code.getHttpStatus(), code);
+    }
+
+    @Override
+    public ResponseEntity<byte[]> entity(int httpStatus, ResponseCode code) {
+        return ResponseEntity.status(httpStatus)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(encoded.get(code));
     }
 
     @Override
-    public String error(HttpServletResponse response, String status, String message, String code) {
-        if (!response.isCommitted()){
-            return ApiResponseDto.builder()
-                    .status(status)
-                    .code(code)
-                    .data(message == null ? "no data" : message)
-                    .build()
-                    .toString();
+    public void write(HttpServletResponse response, ResponseCode code) throws IOException {
+        write(response, code.getHttpStatus(), code);
+    }
+
+    @Override
+    public void write(HttpServletResponse response, int httpStatus, ResponseCode code) throws IOException {
+        if (response.isCommitted()) {
+            log.warn("Response already committed, skip {}", code);
+            return;
         }
-        return null;
+        byte[] body = encoded.get(code);
+        response.setStatus(httpStatus);
+        response.setContentType(CONTENT_TYPE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 
+    @Override
+    public void write(HttpServletResponse response, int httpStatus, ApiResponseDto<?> body) throws IOException {
+        if (response.isCommitted()) {
+            log.warn("Response already committed, skip {}", body.getCode());
+            return;
+        }
+        response.setStatus(httpStatus);
+        response.setContentType(CONTENT_TYPE);
+        writer.writeValue(response.getOutputStream(), body);
+    }
 }
@@ -1,10 +1,25 @@
 package com.nodove.community.nodove.dto.response;
 
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
 
 public interface ResponseStatusManager {
 
-    String success(HttpServletResponse response, String status, String message, String code);
+    // 미리 인코딩된 JSON body (공유 배열이므로 수정 금지)
+    byte[] body(ResponseCode code);
+
+    // controller 용: 미리 인코딩된 body 를 그대로 반환 (ByteArrayHttpMessageConverter, 재직렬화 없음)
+    ResponseEntity<byte[]> entity(ResponseCode code);
+
+    ResponseEntity<byte[]> entity(int httpStatus, ResponseCode code);
+
+    // filter 용: servlet output stream 에 직접 기록. 이미 commit 된 응답은 건드리지 않는다.
+    void write(HttpServletResponse response, ResponseCode code) throws IOException;
+
+    void write(HttpServletResponse response, int httpStatus, ResponseCode code) throws IOException;
 
-    String error(HttpServletResponse response, String status, String message, String code);
+    // data 등 매번 달라지는 응답은 재사용하는 ObjectWriter 로 output stream 에 바로 직렬화
+    void write(HttpServletResponse response, int httpStatus, ApiResponseDto<?> body) throws IOException;
 }
@@ -0,0 +1,14 @@
+package com.nodove.community.nodove.dto.security;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// RateLimiter -> Redis 정산 단위: 고정 window counter key 에 더할 값과 key TTL
+@Getter
+@RequiredArgsConstructor
+public class RateLimitIncrement {
+
+    private final String key;
+    private final long delta;
+    private final long ttlMillis;
+}
@@ -0,0 +1,29 @@
+package com.nodove.community.nodove.dto.security;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+// scripts/rotate_refresh_token.lua 의 결과
+@Getter
+@Builder(toBuilder = true)
+@ToString(exclude = {"refreshToken", "accessToken"})
+public class RefreshTokenRotationResult {
+
+    public enum Status {
+        ROTATED,  // 새 refresh token 발급
+        GRACE,    // 동시 요청: 직전에 발급된 refresh token 을 그대로 전달
+        REUSED,   // 이미 교체된 refresh token 재사용 -> device session 폐기
+        EXPIRED,
+        INVALID,
+        MISSING
+    }
+
+    private final Status status;
+    private final String refreshToken;
+    private final String accessToken;
+
+    public boolean isIssued() {
+        return status == Status.ROTATED || status == Status.GRACE;
+    }
+}
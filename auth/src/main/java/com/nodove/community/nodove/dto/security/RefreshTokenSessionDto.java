@@ -0,0 +1,16 @@
+package com.nodove.community.nodove.dto.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 사용자별 refresh token session (device 단위), 목록 조회용이라 token 값은 담지 않는다.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenSessionDto {
+    private String deviceId;
+    private Long expiresAt; // epoch millis
+}
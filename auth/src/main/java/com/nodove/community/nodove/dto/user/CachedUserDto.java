@@ -0,0 +1,33 @@
+package com.nodove.community.nodove.dto.user;
+
+import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.domain.users.UserRole;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// UserCacheService 가 near cache / Redis 에 두는 User 의 축약본.
+// password 등 민감 정보는 담지 않는다. (로그인은 PrincipalDetailsService 가 DB 에서 직접 조회)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedUserDto {
+
+    private Long id;
+    private String userId;
+    private String email;
+    private UserRole userRole;
+    private boolean active;
+
+    public static CachedUserDto from(User user) {
+        return CachedUserDto.builder()
+                .id(user.getId())
+                .userId(user.getUserId())
+                .email(user.getEmail())
+                .userRole(user.getUserRole())
+                .active(Boolean.TRUE.equals(user.getIsActive()))
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.nodove.community.nodove.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// LoginHistoryWriter 가 batch insert 하는 user_login_history 한 행
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLoginHistoryDto {
+
+    private Long userId; // user.id (PK)
+    private LocalDateTime loginTime;
+    private String ipAddress;
+    private String device;
+    private Boolean isSuccess;
+}
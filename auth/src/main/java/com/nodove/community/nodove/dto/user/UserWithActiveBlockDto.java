@@ -0,0 +1,15 @@
+package com.nodove.community.nodove.dto.user;
+
+import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.domain.users.UserBlock;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// UserRepositoryCustom.findWithActiveBlockByEmail 의 결과 (userBlock 은 현재 차단이 없으면 null)
+@Getter
+@RequiredArgsConstructor
+public class UserWithActiveBlockDto {
+
+    private final User user;
+    private final UserBlock userBlock;
+}
@@ -1,29 +1,33 @@
 package com.nodove.community.nodove.filter;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.configuration.security.PasswordHashingRejectedException;
+import com.nodove.community.nodove.configuration.security.RateLimitedException;
 import com.nodove.community.nodove.configuration.security.JWT.JwtUtilityManager;
 import com.nodove.community.nodove.configuration.security.constructor.PrincipalDetails;
-import com.nodove.community.nodove.dto.response.ApiResponseDto;
+import com.nodove.community.nodove.dto.response.ResponseCode;
+import com.nodove.community.nodove.dto.response.ResponseStatusManager;
 import com.nodove.community.nodove.dto.security.Redis_Refresh_Token;
 import com.nodove.community.nodove.dto.security.TokenDto;
 import com.nodove.community.nodove.dto.user.UserLoginRequest;
+import com.nodove.community.nodove.service.RateLimiter;
 import com.nodove.community.nodove.service.RedisServiceManager;
 import com.nodove.community.nodove.service.UserService;
 import com.nodove.community.nodove.service.UserServiceManager;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import java.io.IOException;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
@@ -33,18 +37,20 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     private final ObjectMapper objectMapper;
     private final RedisServiceManager redisService;
     private final UserServiceManager userService;
+    private final ResponseStatusManager responseStatusManager;
+    private final RateLimiter rateLimiter;
 
-    public AuthenticationFilter(AuthenticationManager authenticationManager, JwtUtilityManager jwtUtility, ObjectMapper objectMapper, RedisServiceManager redisService, UserServiceManager userService) {
+    public AuthenticationFilter(AuthenticationManager authenticationManager, JwtUtilityManager jwtUtility, ObjectMapper objectMapper, RedisServiceManager redisService, UserServiceManager userService, ResponseStatusManager responseStatusManager, RateLimiter rateLimiter) {
         super.setFilterProcessesUrl("/auth/login");
         this.authenticationManager = authenticationManager;
         this.jwtUtility = jwtUtility;
         this.objectMapper = objectMapper;
         this.redisService = redisService;
         this.userService = userService;
+        this.responseStatusManager = responseStatusManager;
+        this.rateLimiter = rateLimiter;
     }
 
-    private final Map<String, String> requestCache = new ConcurrentHashMap<>();
-
     @Override
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response) throws AuthenticationException {
 
@@ -52,33 +58,49 @@ public class AuthenticationFilter extends UsernamePasswordAuthenticationFilter {
 
         try {
             UserLoginRequest userLoginRequest = objectMapper.readValue(request.getInputStream(), UserLoginRequest.class);
-            requestCache.put("requestBody", objectMapper.writeValueAsString(userLoginRequest));
+            // 계정 단위 한도는 body 를 읽은 뒤에야 확인 가능 (password 검증 전)
+            long retryAfter = rateLimiter.tryAcquire(RateLimiter.Endpoint.LOGIN, RateLimiter.Dimension.ACCOUNT, userLoginRequest.getEmail());
+            if (retryAfter > 0) {
+                throw new RateLimitedException("Too many login attempts for account", retryAfter);
+            }
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(userLoginRequest.getEmail(), userLoginRequest.getPassword());
             return authenticationManager.authenticate(authenticationToken);
+        } catch (AuthenticationException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error occurred while attempting authentication: {}", e.getMessage());
-            throw new RuntimeException(e);
+            throw new AuthenticationServiceException("Invalid login request", e);
         }
     }
 
+    // password hashing executor 가 포화 상태면 401 이 아닌 503 + Retry-After 로 응답 (클라이언트 재시도 유도)
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) throws IOException, ServletException {
+        if (failed instanceof RateLimitedException rateLimited) {
+            log.warn("Login rate limited: {}", failed.getMessage());
+            RateLimitFilter.writeTooManyRequests(response, responseStatusManager, rateLimited.getRetryAfterSeconds());
+            return;
+        }
+        if (failed instanceof PasswordHashingRejectedException) {
+            log.warn("Login rejected: {}", failed.getMessage());
+            response.setHeader("Retry-After", "1");
+            responseStatusManager.write(response, ResponseCode.LOGIN_OVERLOADED);
+            return;
+        }
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
+
 
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain, Authentication authentication) throws IOException {
         log.info("Authentication successful");
-        String requestLogin = requestCache.get("requestBody");
-        UserLoginRequest userLoginRequest = objectMapper.readValue(requestLogin, UserLoginRequest.class);
-
         PrincipalDetails principalDetails = (PrincipalDetails) authentication.getPrincipal();
         if (!principalDetails.isEnabled()) {
-            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, ApiResponseDto.builder()
-                    .status("error")
-                    .message("User is not enabled -> check email verification")
-                    .code("USER_DISABLED")
-                    .build().toString());
+            responseStatusManager.write(response, ResponseCode.USER_DISABLED);
             return;
         }
 
-        this.userService.saveLoginHistory(userLoginRequest, request);
+        this.userService.saveLoginHistory(principalDetails, request);
         TokenDto token = jwtUtility.generateToken(authentication);
 
         String deviceId = UUID.randomUUID().toString();
@@ -1,9 +1,13 @@
 package com.nodove.community.nodove.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
 import com.nodove.community.nodove.configuration.security.JWT.JwtUtilityManager;
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedClaims;
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedTokenCache;
 import com.nodove.community.nodove.domain.security.Token;
-import com.nodove.community.nodove.dto.response.ApiResponseDto;
+import com.nodove.community.nodove.dto.response.ResponseCode;
+import com.nodove.community.nodove.dto.response.ResponseStatusManager;
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
 import com.nodove.community.nodove.service.RedisServiceManager;
 import com.nodove.community.nodove.service.UserService;
 import com.nodove.community.nodove.service.UserServiceManager;
@@ -12,8 +16,9 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
@@ -22,22 +27,26 @@ import java.io.IOException;
 public class AuthorizationFilter extends OncePerRequestFilter {
 
     private final JwtUtilityManager jwtUtility;
-    private final ObjectMapper objectMapper;
+    private final ResponseStatusManager responseStatusManager;
     private final RedisServiceManager redisService;
     private final UserServiceManager userService;
+    private final VerifiedTokenCache tokenCache;
+    private final AuthMetrics authMetrics;
 
 
-    public AuthorizationFilter(JwtUtilityManager jwtUtility, ObjectMapper objectMapper, RedisServiceManager redisService, UserServiceManager userService) {
+    public AuthorizationFilter(JwtUtilityManager jwtUtility, ResponseStatusManager responseStatusManager, RedisServiceManager redisService, UserServiceManager userService, VerifiedTokenCache tokenCache, AuthMetrics authMetrics) {
         this.jwtUtility = jwtUtility;
-        this.objectMapper = objectMapper;
+        this.responseStatusManager = responseStatusManager;
         this.redisService = redisService;
         this.userService = userService;
+        this.tokenCache = tokenCache;
+        this.authMetrics = authMetrics;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
-            log.info("AuthorizationFilter");
+            log.debug("AuthorizationFilter");
 
             String authorizationHeader = request.getHeader("Authorization");
 
@@ -48,89 +57,85 @@ public class AuthorizationFilter extends OncePerRequestFilter {
             }
 
             String token = authorizationHeader.substring(7);
-            String refreshToken;
-
-            if (jwtUtility.isTokenExpired(token, 0)) {
-                refreshToken = checkRefreshTokenForReissue(request, response, token);
-                if (refreshToken == null) return;
-
-                if (jwtUtility.isTokenExpired(refreshToken, 1)) {
-                    log.error("Refresh Token is expired");
-                    handleErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Refresh Token is expired");
-                    return;
+            UsernamePasswordAuthenticationToken authentication;
+
+            // cache hit: 서명 / claims 디코딩 생략, block 상태가 오래된 경우에만 다시 조회
+            VerifiedTokenCache.Entry cached = tokenCache.get(token);
+            if (cached != null && !cached.isStale()) {
+                authentication = cached.getAuthentication();
+            } else {
+                long phaseStart = System.nanoTime();
+                VerifiedClaims claims = cached != null ? cached.getClaims() : jwtUtility.verifyToken(token, 0);
+                authMetrics.recordFilterParse(phaseStart);
+
+                phaseStart = System.nanoTime();
+                boolean expired = claims.isExpired();
+                authMetrics.recordFilterExpiry(phaseStart);
+
+                if (expired) {
+                    long reissueStart = System.nanoTime();
+                    String refreshToken = jwtUtility.getRefreshToken(request);
+                    VerifiedClaims refreshClaims = checkRefreshTokenForReissue(response, refreshToken);
+                    if (refreshClaims == null) {
+                        authMetrics.recordFilterReissue(reissueStart);
+                        return;
+                    }
+
+                    RefreshTokenRotationResult rotation = userService.reissueTokens(refreshToken, refreshClaims,
+                            request.getHeader(Token.DEVICE_ID_HEADER.getHeaderName()));
+                    if (!rotation.isIssued()) {
+                        log.error("Refresh Token rotation failed: {}", rotation.getStatus());
+                        authMetrics.recordFilterReissue(reissueStart);
+                        responseStatusManager.write(response, rotation.getStatus() == RefreshTokenRotationResult.Status.REUSED
+                                ? ResponseCode.TOKEN_REUSED : ResponseCode.TOKEN_INVALID);
+                        return;
+                    }
+
+                    token = rotation.getAccessToken();
+                    claims = jwtUtility.verifyToken(token, 0);
+                    authMetrics.recordFilterReissue(reissueStart);
+                    // 요청은 새 access token 으로 계속 진행하므로 body 는 쓰지 않고 header 로만 전달한다.
+                    jwtUtility.addRefreshTokenCookie(response, rotation.getRefreshToken());
+                    response.setHeader(Token.REFRESH_TOKEN_HEADER.getHeaderName(), Token.REFRESH_TOKEN_HEADER.createHeaderPrefix(rotation.getRefreshToken()));
+                    response.setHeader(Token.ACCESS_TOKEN_HEADER.getHeaderName(), Token.ACCESS_TOKEN_HEADER.createHeaderPrefix(token));
                 }
 
-                token = reissueToken(refreshToken);
-                response.setStatus(HttpServletResponse.SC_ACCEPTED);
-                handleSuccessResponse(response, HttpServletResponse.SC_ACCEPTED, "Access Token reissued successfully", token);
+                phaseStart = System.nanoTime();
+                authentication = jwtUtility.getAuthentication(claims);
+                authMetrics.recordFilterBlockLookup(phaseStart);
+                tokenCache.put(token, claims, authentication);
             }
 
-            Authentication authentication = jwtUtility.getAuthentication(token);
             if (authentication == null) {
                 log.error("Unauthorized: Token is invalid");
-                handleErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "Unauthorized");
+                responseStatusManager.write(response, ResponseCode.UNAUTHORIZED);
+                return;
+            }
+
+            if (!((UserDetails) authentication.getPrincipal()).isAccountNonLocked()) {
+                log.error("Unauthorized: User is blocked");
+                responseStatusManager.write(response, ResponseCode.USER_BLOCKED);
                 return;
             }
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
         } catch (Exception e) {
             log.error("Error occurred in AuthorizationFilter: {}", e.getMessage());
-            handleErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal Server Error");
+            responseStatusManager.write(response, ResponseCode.INTERNAL_ERROR);
+            return;
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private String checkRefreshTokenForReissue(HttpServletRequest request, HttpServletResponse response, String token) throws IOException {
-        String refreshToken = jwtUtility.getRefreshToken(request);
-        if (refreshToken == null || jwtUtility.isTokenExpired(refreshToken, 1)) {
+    // refresh token 을 한 번만 검증하고, 재발급 불가 시 응답을 작성한 뒤 null 을 반환
+    private VerifiedClaims checkRefreshTokenForReissue(HttpServletResponse response, String refreshToken) throws IOException {
+        VerifiedClaims refreshClaims = refreshToken == null ? null : jwtUtility.verifyToken(refreshToken, 1);
+        if (refreshClaims == null || refreshClaims.isExpired()) {
             log.error("Refresh Token is invalid or expired.");
-            if (!response.isCommitted()) {
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write(objectMapper.writeValueAsString(
-                        ApiResponseDto.builder()
-                                .status("error")
-                                .message("Refresh Token is invalid or expired. Please log in again.")
-                                .code("TOKEN_EXPIRED")
-                                .build()
-                ));
-            }
-        }
-        return refreshToken;
-    }
-
-    private String reissueToken(String refreshToken) {
-        String userId = jwtUtility.parseToken(refreshToken, 1).get("userId").toString();
-        return jwtUtility.generateReissuedAccessToken(userId);
-    }
-
-    private void handleErrorResponse(HttpServletResponse response, int status, String message) throws IOException {
-        if (!response.isCommitted()) {
-            response.setStatus(status);
-            response.setContentType("application/json");
-            response.getWriter().write(objectMapper.writeValueAsString(
-                    ApiResponseDto.builder()
-                            .status("error")
-                            .message(message)
-                            .code(String.valueOf(status))
-                            .build()
-            ));
-        }
-    }
-
-    private void handleSuccessResponse(HttpServletResponse response, int status, String message, String token) throws IOException {
-        if (!response.isCommitted()) {
-            response.setStatus(status);
-            response.setContentType("application/json");
-            response.setHeader(Token.ACCESS_TOKEN_HEADER.getHeaderName(), Token.ACCESS_TOKEN_HEADER.createHeaderPrefix(token));
-            response.getWriter().write(objectMapper.writeValueAsString(
-                    ApiResponseDto.builder()
-                            .status("success")
-                            .message(message)
-                            .code("TOKEN_REISSUED")
-                            .build()
-            ));
+            responseStatusManager.write(response, ResponseCode.TOKEN_EXPIRED);
+            return null;
         }
+        return refreshClaims;
     }
 }
-
@@ -0,0 +1,67 @@
+package com.nodove.community.nodove.filter;
+
+import com.nodove.community.nodove.dto.response.ResponseCode;
+import com.nodove.community.nodove.dto.response.ResponseStatusManager;
+import com.nodove.community.nodove.service.RateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// 인증 / 가입 / 메일 재발송 요청의 IP 단위 한도 (메일 재발송은 email 단위도).
+// AuthenticationFilter 보다 앞에서 실행되어, 거절된 요청은 DB / SMTP / password encoder 에 닿지 않고
+// 미리 인코딩된 429 응답만 받는다.
+// 로그인 계정 단위 한도는 body 를 읽는 AuthenticationFilter, 가입 계정 단위 한도는 UserService 에서 확인한다.
+// IP 는 request.getRemoteAddr() 기준 (proxy 뒤라면 server.forward-headers-strategy 설정 필요)
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ResponseStatusManager responseStatusManager;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ResponseStatusManager responseStatusManager) {
+        this.rateLimiter = rateLimiter;
+        this.responseStatusManager = responseStatusManager;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Endpoint endpoint = endpoint(request);
+        long retryAfter = rateLimiter.tryAcquire(endpoint, RateLimiter.Dimension.IP, request.getRemoteAddr());
+        if (retryAfter == 0 && endpoint == RateLimiter.Endpoint.EMAIL_RESEND) {
+            retryAfter = rateLimiter.tryAcquire(endpoint, RateLimiter.Dimension.ACCOUNT, request.getParameter("email"));
+        }
+        if (retryAfter > 0) {
+            log.warn("Rate limited: endpoint={}, ip={}", endpoint, request.getRemoteAddr());
+            writeTooManyRequests(response, responseStatusManager, retryAfter);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    public static void writeTooManyRequests(HttpServletResponse response, ResponseStatusManager responseStatusManager, long retryAfterSeconds) throws IOException {
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        responseStatusManager.write(response, ResponseCode.TOO_MANY_REQUESTS);
+    }
+
+    private static RateLimiter.Endpoint endpoint(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod())) {
+            return null;
+        }
+        return switch (request.getRequestURI()) {
+            case "/auth/login" -> RateLimiter.Endpoint.LOGIN;
+            case "/auth/register" -> RateLimiter.Endpoint.REGISTER;
+            case "/join/email/resend" -> RateLimiter.Endpoint.EMAIL_RESEND;
+            default -> null;
+        };
+    }
+}
@@ -7,7 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.Optional;
 
-public interface UserBlockRepository extends JpaRepository<UserBlock, Long> {
+public interface UserBlockRepository extends JpaRepository<UserBlock, Long>, UserBlockRepositoryCustom {
     Optional<UserBlock> findActiveBlockByUserId(Long userId);
 
     UserBlock findByUser(User user);
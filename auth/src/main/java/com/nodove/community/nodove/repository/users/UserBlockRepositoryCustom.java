@@ -0,0 +1,9 @@
+package com.nodove.community.nodove.repository.users;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UserBlockRepositoryCustom {
+    // 현재 차단 중인 (unblockedAt 이 없거나 아직 지나지 않은) 사용자의 userId 목록
+    List<String> findActiveBlockedUserIds(LocalDateTime now);
+}
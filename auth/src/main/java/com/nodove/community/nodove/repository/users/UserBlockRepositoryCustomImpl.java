@@ -0,0 +1,31 @@
+package com.nodove.community.nodove.repository.users;
+
+import com.nodove.community.nodove.domain.users.QUserBlock;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class UserBlockRepositoryCustomImpl implements UserBlockRepositoryCustom {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    public UserBlockRepositoryCustomImpl(EntityManager entityManager) {
+        this.jpaQueryFactory = new JPAQueryFactory(entityManager);
+    }
+
+    @Transactional
+    @Override
+    public List<String> findActiveBlockedUserIds(LocalDateTime now) {
+        QUserBlock userBlock = QUserBlock.userBlock;
+        return jpaQueryFactory.select(userBlock.user.userId)
+                .distinct()
+                .from(userBlock)
+                .where(userBlock.unblockedAt.isNull().or(userBlock.unblockedAt.after(now)))
+                .fetch();
+    }
+}
@@ -1,11 +1,17 @@
 package com.nodove.community.nodove.repository.users;
 
 import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.dto.user.UserWithActiveBlockDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface UserRepositoryCustom {
     boolean updateEmailValidation(String email);
 
     List<User> ifEmailExistsAndActiveIsFalse(String email);
+
+    // 로그인용: user + 현재 차단 (없으면 null) 을 left join 한 번으로 조회
+    Optional<UserWithActiveBlockDto> findWithActiveBlockByEmail(String email, LocalDateTime now);
 }
@@ -1,13 +1,18 @@
 package com.nodove.community.nodove.repository.users;
 
 import com.nodove.community.nodove.domain.users.QUser;
+import com.nodove.community.nodove.domain.users.QUserBlock;
 import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.dto.user.UserWithActiveBlockDto;
+import com.querydsl.core.Tuple;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public class UserRepositoryCustomImpl implements UserRepositoryCustom{
@@ -36,4 +41,23 @@ public class UserRepositoryCustomImpl implements UserRepositoryCustom{
                 .where(QUser.user.email.eq(email).and(QUser.user.isActive.eq(false)))
                 .fetch();
     }
+
+    // 차단 이력이 여러 건이면 가장 최근 차단 하나만 (blockedAt desc, fetchFirst = limit 1)
+    @Transactional
+    @Override
+    public Optional<UserWithActiveBlockDto> findWithActiveBlockByEmail(String email, LocalDateTime now) {
+        QUser user = QUser.user;
+        QUserBlock userBlock = QUserBlock.userBlock;
+        Tuple row = jpaQueryFactory.select(user, userBlock)
+                .from(user)
+                .leftJoin(userBlock).on(userBlock.user.eq(user)
+                        .and(userBlock.unblockedAt.isNull().or(userBlock.unblockedAt.after(now))))
+                .where(user.email.eq(email))
+                .orderBy(userBlock.blockedAt.desc())
+                .fetchFirst();
+        if (row == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new UserWithActiveBlockDto(row.get(user), row.get(userBlock)));
+    }
 }
@@ -0,0 +1,199 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.repository.users.UserBlockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 현재 차단 중인 userId 의 bloom filter.
+// mightBeBlocked == false 이면 Redis / DB 조회 없이 "차단 없음" 으로 응답할 수 있다.
+// bloom filter 는 삭제를 지원하지 않으므로 차단 해제는 주기적인 reconcile(재구성) 시 반영된다.
+// 새 차단은 block invalidation pub/sub 으로 모든 인스턴스에 바로 추가된다. (DB 에 직접 넣은 차단은 reconcile 까지 반영되지 않음)
+@Slf4j
+@Component
+public class BlockedUserFilter {
+
+    private final UserBlockRepository userBlockRepository;
+    private final long expectedInsertions;
+    private final double targetFalsePositiveRate;
+
+    private volatile Bits bits;
+    private volatile boolean ready = false;
+    // reconcile 도중 추가된 userId (새 filter 로 교체 후 다시 반영)
+    private volatile Set<String> addedDuringRebuild;
+
+    private final LongAdder positives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    public BlockedUserFilter(
+            UserBlockRepository userBlockRepository,
+            @Value("${user.block.filter.expected-insertions:10000}") long expectedInsertions,
+            @Value("${user.block.filter.fpp:0.01}") double targetFalsePositiveRate
+    ) {
+        this.userBlockRepository = userBlockRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.targetFalsePositiveRate = targetFalsePositiveRate;
+        this.bits = new Bits(expectedInsertions, targetFalsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    // user_block 테이블 기준으로 filter 를 다시 만들어 차단 해제 / 누락된 변경을 반영
+    @Scheduled(fixedDelayString = "${user.block.filter.reconcile-interval-ms:300000}",
+            initialDelayString = "${user.block.filter.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        this.addedDuringRebuild = pending;
+        try {
+            List<String> blockedUserIds = userBlockRepository.findActiveBlockedUserIds(LocalDateTime.now());
+            Bits rebuilt = new Bits(Math.max(expectedInsertions, blockedUserIds.size()), targetFalsePositiveRate);
+            blockedUserIds.forEach(rebuilt::put);
+
+            synchronized (this) {
+                this.bits = rebuilt;
+                this.addedDuringRebuild = null;
+                pending.forEach(rebuilt::put);
+            }
+            this.ready = true;
+
+            log.info("BlockedUserFilter reconciled: blockedUsers={}, expectedFpp={}, observedFpp={}",
+                    blockedUserIds.size(), expectedFalsePositiveRate(), observedFalsePositiveRate());
+        } catch (Exception e) {
+            this.addedDuringRebuild = null;
+            log.error("Failed to reconcile BlockedUserFilter: {}", e.getMessage());
+        }
+    }
+
+    // 로딩 전에는 항상 true (기존 조회 경로로 위임)
+    public boolean mightBeBlocked(String userId) {
+        if (!ready || userId == null) {
+            return true;
+        }
+        boolean maybe = bits.mightContain(userId);
+        if (maybe) {
+            positives.increment();
+        }
+        return maybe;
+    }
+
+    // 새 차단 발생 시 (RedisService.setBlockCaching, 다른 인스턴스는 pub/sub 으로)
+    public synchronized void add(String userId) {
+        if (userId == null) {
+            return;
+        }
+        bits.put(userId);
+        Set<String> pending = this.addedDuringRebuild;
+        if (pending != null) {
+            pending.add(userId);
+        }
+    }
+
+    // 다른 인스턴스에서 발생한 차단 (UserBlockNearCache.INVALIDATION_CHANNEL). 차단 해제 message 는 무시 (reconcile 시 반영)
+    public void onInvalidationMessage(String message) {
+        if (UserBlockNearCache.isBlockedMessage(message)) {
+            add(UserBlockNearCache.invalidatedUserId(message));
+        }
+    }
+
+    // mightBeBlocked == true 였지만 실제로는 차단되지 않은 경우
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    // 현재 원소 수 기준 이론상 false positive 확률: (1 - e^(-kn/m))^k
+    public double expectedFalsePositiveRate() {
+        return bits.expectedFalsePositiveRate();
+    }
+
+    // mightBeBlocked == true 응답 중 실제 차단이 아니었던 비율
+    public double observedFalsePositiveRate() {
+        long total = positives.sum();
+        return total == 0 ? 0.0 : (double) falsePositives.sum() / total;
+    }
+
+    public long approximateElementCount() {
+        return bits.count.sum();
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitSize;
+        private final int hashFunctions;
+        private final LongAdder count = new LongAdder();
+
+        private Bits(long expectedInsertions, double fpp) {
+            long n = Math.max(1L, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            this.bitSize = Math.max(64L, m);
+            this.hashFunctions = Math.max(1, (int) Math.round((double) bitSize / n * Math.log(2)));
+            this.words = new AtomicLongArray((int) ((bitSize + 63) / 64));
+        }
+
+        private void put(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = Math.floorMod(hash1 + i * hash2, bitSize);
+                setBit(index);
+            }
+            count.increment();
+        }
+
+        private boolean mightContain(String value) {
+            long hash1 = hash(value, 0x9E3779B97F4A7C15L);
+            long hash2 = hash(value, 0xC2B2AE3D27D4EB4FL);
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = Math.floorMod(hash1 + i * hash2, bitSize);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void setBit(long index) {
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+
+        private double expectedFalsePositiveRate() {
+            double exponent = -(double) hashFunctions * count.sum() / bitSize;
+            return Math.pow(1 - Math.exp(exponent), hashFunctions);
+        }
+
+        // seed 를 섞은 64bit FNV-1a + murmur3 finalizer
+        private static long hash(String value, long seed) {
+            long h = 0xcbf29ce484222325L ^ seed;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
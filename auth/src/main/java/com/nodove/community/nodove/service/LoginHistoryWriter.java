@@ -0,0 +1,219 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.configuration.id.SnowflakeIdGenerator;
+import com.nodove.community.nodove.dto.user.UserLoginHistoryDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// user_login_history write-behind.
+// 로그인 응답 경로에서는 queue 에 넣기만 하고, 백그라운드 writer 가 JDBC batch 로 insert 한다.
+// id 는 SnowflakeIdGenerator 로 미리 정한다. (UserLoginHistory 의 @SnowflakeId 와 같은 값 공간)
+// running 확인 + queue 적재는 read lock, running 을 내리는 것은 write lock 으로 묶어서
+// stop() 이후에 queue 에 들어가 drain 되지 않는 기록이 없게 한다. (멈춘 뒤의 enqueue 는 호출 스레드에서 직접 기록)
+@Slf4j
+@Component
+public class LoginHistoryWriter implements SmartLifecycle {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_login_history (id, user_id, login_time, ip_address, device, is_success) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy {
+        DROP,         // queue 가 가득 차면 버리고 카운트만 증가
+        CALLER_RUNS   // queue 가 가득 차면 호출 스레드에서 바로 insert
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SnowflakeIdGenerator idGenerator;
+    private final BlockingQueue<UserLoginHistoryDto> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final OverflowPolicy overflowPolicy;
+
+    private final LongAdder flushedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private volatile long lastFlushLatencyNanos;
+
+    private volatile boolean running = false;
+    private final ReentrantReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+    private Thread writerThread;
+
+    public LoginHistoryWriter(
+            JdbcTemplate jdbcTemplate,
+            SnowflakeIdGenerator idGenerator,
+            @Value("${login-history.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${login-history.write-behind.batch-size:200}") int batchSize,
+            @Value("${login-history.write-behind.flush-interval-ms:500}") long flushIntervalMillis,
+            @Value("${login-history.write-behind.overflow-policy:CALLER_RUNS}") OverflowPolicy overflowPolicy
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.idGenerator = idGenerator;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public void enqueue(UserLoginHistoryDto loginHistory) {
+        // writer 가 멈춘 상태(기동 전 / 종료 중)이거나 queue 가 가득 찬 경우 (CALLER_RUNS) 에는 유실되지 않도록 직접 기록
+        boolean handled;
+        lifecycleLock.readLock().lock();
+        try {
+            handled = running && offer(loginHistory);
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+        if (!handled) {
+            writeBatch(List.of(loginHistory));
+        }
+    }
+
+    // queue 에 넣었거나 (DROP 으로) 버렸으면 true, 호출 스레드에서 직접 기록해야 하면 false
+    private boolean offer(UserLoginHistoryDto loginHistory) {
+        if (queue.offer(loginHistory)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+            return false;
+        }
+        droppedCount.increment();
+        log.warn("Login history queue is full, dropped record for userId={}", loginHistory.getUserId());
+        return true;
+    }
+
+    private void runWriter() {
+        while (running) {
+            try {
+                List<UserLoginHistoryDto> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    writeBatch(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    // 첫 건을 기다린 뒤 batchSize 가 차거나 flushInterval 이 지날 때까지 모은다.
+    private List<UserLoginHistoryDto> nextBatch() throws InterruptedException {
+        List<UserLoginHistoryDto> batch = new ArrayList<>(batchSize);
+        UserLoginHistoryDto first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            UserLoginHistoryDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    private void writeBatch(List<UserLoginHistoryDto> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, loginHistory) -> {
+                ps.setLong(1, idGenerator.nextId());
+                ps.setLong(2, loginHistory.getUserId());
+                ps.setTimestamp(3, Timestamp.valueOf(loginHistory.getLoginTime()));
+                ps.setString(4, loginHistory.getIpAddress());
+                ps.setString(5, loginHistory.getDevice());
+                ps.setBoolean(6, loginHistory.getIsSuccess());
+            });
+            flushedCount.add(batch.size());
+        } catch (Exception e) {
+            failedCount.add(batch.size());
+            log.error("Failed to write {} login history records: {}", batch.size(), e.getMessage());
+        } finally {
+            lastFlushLatencyNanos = System.nanoTime() - start;
+        }
+    }
+
+    // 남은 queue 를 모두 기록 (종료 시)
+    private void drain() {
+        List<UserLoginHistoryDto> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::runWriter, "login-history-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        lifecycleLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+        try {
+            writerThread.join(flushIntervalMillis * 2 + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        log.info("Login history writer stopped: flushed={}, dropped={}, failed={}", flushedCount.sum(), droppedCount.sum(), failedCount.sum());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // web server 가 먼저 멈춘 뒤 (새 로그인 유입 종료) 남은 기록을 drain 한다.
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long lastFlushLatencyNanos() {
+        return lastFlushLatencyNanos;
+    }
+
+    public long flushedCount() {
+        return flushedCount.sum();
+    }
+
+    public long droppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long failedCount() {
+        return failedCount.sum();
+    }
+}
@@ -0,0 +1,100 @@
+package com.nodove.community.nodove.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nodove.community.nodove.dto.mail.MailMessageDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Redis stream 기반 mail outbox.
+// 요청 스레드는 적재만 하고 실제 SMTP 발송은 MailOutboxWorker 가 수행한다.
+// 트랜잭션 안에서 호출되면 (RedisTemplate transaction support) commit 시점에 XADD 된다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MailOutbox {
+
+    public static final String STREAM_KEY = "MAIL_OUTBOX";
+    public static final String RETRY_KEY = "MAIL_OUTBOX_RETRY";       // ZSET, score = 재시도 시각 (epoch millis)
+    public static final String DEAD_LETTER_KEY = "MAIL_OUTBOX_DEAD";  // 재시도 한도를 넘긴 메일
+    public static final String PAYLOAD_FIELD = "payload";
+    public static final String ERROR_FIELD = "error";                 // dead letter 사유 (발송 불가 payload 등)
+
+    private static final RedisScript<Long> PROMOTE_DUE_RETRIES_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/promote_mail_retries.lua"), Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void enqueue(String to, String title, String content) {
+        enqueue(MailMessageDto.builder()
+                .id(UUID.randomUUID().toString())
+                .to(to)
+                .title(title)
+                .content(content)
+                .attempt(0)
+                .build());
+    }
+
+    public void enqueue(MailMessageDto mailMessage) {
+        redisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(STREAM_KEY)
+                .ofMap(Collections.singletonMap(PAYLOAD_FIELD, serialize(mailMessage))));
+    }
+
+    // 실패한 메일을 backoff 이후 다시 발송하도록 예약
+    public void scheduleRetry(MailMessageDto mailMessage, long retryAtMillis) {
+        redisTemplate.opsForZSet().add(RETRY_KEY, serialize(mailMessage), retryAtMillis);
+    }
+
+    public void deadLetter(MailMessageDto mailMessage) {
+        deadLetter(serialize(mailMessage), null);
+    }
+
+    // 원문 payload 그대로 보관 (역직렬화할 수 없는 record 등)
+    public void deadLetter(String payload, String error) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put(PAYLOAD_FIELD, payload);
+        if (error != null) {
+            fields.put(ERROR_FIELD, error);
+        }
+        redisTemplate.opsForStream().add(StreamRecords.newRecord()
+                .in(DEAD_LETTER_KEY)
+                .ofMap(fields));
+    }
+
+    // 재시도 시각이 지난 메일을 stream 으로 되돌린다. (Lua script 한 번: 여러 worker 가 동시에 호출해도 중복 / 유실 없음)
+    public int promoteDueRetries(long nowMillis, int limit) {
+        Long promoted = redisTemplate.execute(PROMOTE_DUE_RETRIES_SCRIPT, List.of(RETRY_KEY, STREAM_KEY),
+                String.valueOf(nowMillis), String.valueOf(limit), PAYLOAD_FIELD);
+        return promoted == null ? 0 : promoted.intValue();
+    }
+
+    // 형식이 잘못된 payload 는 IllegalArgumentException (재시도해도 성공할 수 없음)
+    public MailMessageDto deserialize(String payload) {
+        try {
+            return objectMapper.readValue(payload, MailMessageDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to deserialize MailMessageDto: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private String serialize(MailMessageDto mailMessage) {
+        try {
+            return objectMapper.writeValueAsString(mailMessage);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize MailMessageDto for email: " + mailMessage.getTo(), e);
+        }
+    }
+}
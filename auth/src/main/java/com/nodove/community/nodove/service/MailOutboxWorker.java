@@ -0,0 +1,363 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
+import com.nodove.community.nodove.dto.mail.MailMessageDto;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// MAIL_OUTBOX stream 을 consumer group 으로 읽어 SMTP 로 발송하는 worker pool.
+// worker 마다 SMTP Transport 를 열어둔 채로 재사용하며, 한 번에 batch-size 건씩 발송한다.
+// 다른 consumer (종료된 pod, 이름이 바뀐 host, 줄어든 worker index) 에 claim-idle-ms 이상 pending 으로 남은 메일은
+// claim-interval-ms 마다 XPENDING / XCLAIM 으로 가져와 발송한다. max-deliveries 번 이상 전달된 record 와
+// 역직렬화할 수 없는 record 는 dead letter 로 옮기고 ack 한다. (같은 record 가 worker 를 계속 실패시키지 않도록)
+@Slf4j
+@Component
+public class MailOutboxWorker implements SmartLifecycle {
+
+    private static final String GROUP = "mail-workers";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final MailOutbox mailOutbox;
+    private final JavaMailSenderImpl mailSender;
+    private final AuthMetrics authMetrics;
+
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffInitialMillis;
+    private final long backoffMaxMillis;
+    private final long claimIdleMillis;
+    private final long claimIntervalMillis;
+    private final long maxDeliveries;
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder retriedCount = new LongAdder();
+    private final LongAdder deadLetterCount = new LongAdder();
+    private final LongAdder claimedCount = new LongAdder();
+    // 인스턴스 안에서는 한 worker 만 claim 을 수행한다.
+    private final AtomicLong nextClaimAt = new AtomicLong();
+
+    private volatile boolean running = false;
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    public MailOutboxWorker(
+            RedisTemplate<String, String> redisTemplate,
+            MailOutbox mailOutbox,
+            JavaMailSenderImpl mailSender,
+            AuthMetrics authMetrics,
+            @Value("${mail.outbox.workers:2}") int workers,
+            @Value("${mail.outbox.batch-size:20}") int batchSize,
+            @Value("${mail.outbox.max-attempts:5}") int maxAttempts,
+            @Value("${mail.outbox.backoff-initial-ms:1000}") long backoffInitialMillis,
+            @Value("${mail.outbox.backoff-max-ms:300000}") long backoffMaxMillis,
+            @Value("${mail.outbox.claim-idle-ms:300000}") long claimIdleMillis,
+            @Value("${mail.outbox.claim-interval-ms:30000}") long claimIntervalMillis,
+            @Value("${mail.outbox.max-deliveries:5}") long maxDeliveries
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.mailOutbox = mailOutbox;
+        this.mailSender = mailSender;
+        this.authMetrics = authMetrics;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMillis = backoffInitialMillis;
+        this.backoffMaxMillis = backoffMaxMillis;
+        this.claimIdleMillis = claimIdleMillis;
+        this.claimIntervalMillis = claimIntervalMillis;
+        this.maxDeliveries = maxDeliveries;
+    }
+
+    private void ensureGroup() {
+        try {
+            redisTemplate.opsForStream().createGroup(MailOutbox.STREAM_KEY, ReadOffset.from("0"), GROUP);
+        } catch (Exception e) {
+            // BUSYGROUP: 이미 생성됨
+            log.debug("Mail outbox consumer group already exists: {}", e.getMessage());
+        }
+    }
+
+    // consumer 이름은 host + index 로 고정 -> 재시작 시 자신의 pending(미 ack) 메일부터 다시 처리한다.
+    private void runWorker(String consumerName) {
+        Consumer consumer = Consumer.from(GROUP, consumerName);
+        SmtpConnection connection = new SmtpConnection();
+        boolean recoverPending = true;
+        try {
+            while (running) {
+                try {
+                    mailOutbox.promoteDueRetries(System.currentTimeMillis(), batchSize);
+                    claimStalePending(connection, consumerName);
+
+                    ReadOffset offset = recoverPending ? ReadOffset.from("0") : ReadOffset.lastConsumed();
+                    StreamReadOptions options = recoverPending
+                            ? StreamReadOptions.empty().count(batchSize)
+                            : StreamReadOptions.empty().count(batchSize).block(Duration.ofSeconds(2));
+                    List<MapRecord<String, Object, Object>> records = read(consumer, options, offset);
+
+                    if (records == null || records.isEmpty()) {
+                        recoverPending = false;
+                        continue;
+                    }
+                    for (MapRecord<String, Object, Object> record : records) {
+                        process(connection, record);
+                    }
+                } catch (Exception e) {
+                    log.error("Mail outbox worker {} failed: {}", consumerName, e.getMessage());
+                    // ack 되지 않은 record 부터 다시 읽는다.
+                    recoverPending = true;
+                    connection.close();
+                    ensureGroup();
+                    sleepQuietly(1000);
+                }
+            }
+        } finally {
+            connection.close();
+        }
+    }
+
+    // StreamOperations.read 는 generic varargs (StreamOffset<K>...) 라 호출 지점마다 unchecked 경고가 나므로 여기서만 호출한다.
+    @SuppressWarnings("unchecked")
+    private List<MapRecord<String, Object, Object>> read(Consumer consumer, StreamReadOptions options, ReadOffset offset) {
+        return redisTemplate.opsForStream().read(consumer, options, StreamOffset.create(MailOutbox.STREAM_KEY, offset));
+    }
+
+    // 다른 consumer 에 오래 pending 으로 남은 메일을 가져와 발송 (XCLAIM 의 min-idle 조건으로 worker 간 중복 claim 없음)
+    private void claimStalePending(SmtpConnection connection, String consumerName) {
+        long now = System.currentTimeMillis();
+        long claimAt = nextClaimAt.get();
+        if (now < claimAt || !nextClaimAt.compareAndSet(claimAt, now + claimIntervalMillis)) {
+            return;
+        }
+        PendingMessages pending = redisTemplate.opsForStream()
+                .pending(MailOutbox.STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        // 자기 자신의 pending (처리 도중 오류로 ack 되지 않은 record) 도 같은 기준으로 다시 가져온다.
+        Map<RecordId, Long> deliveryCounts = new HashMap<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().toMillis() >= claimIdleMillis) {
+                deliveryCounts.put(message.getId(), message.getTotalDeliveryCount());
+            }
+        }
+        if (deliveryCounts.isEmpty()) {
+            return;
+        }
+        List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                MailOutbox.STREAM_KEY, GROUP, consumerName, Duration.ofMillis(claimIdleMillis), deliveryCounts.keySet().toArray(RecordId[]::new));
+        if (claimed == null) {
+            return;
+        }
+        claimedCount.add(claimed.size());
+        log.warn("Mail outbox worker {} claimed {} stale pending mails", consumerName, claimed.size());
+        for (MapRecord<String, Object, Object> record : claimed) {
+            // XCLAIM 도 전달 횟수를 1 올린다.
+            long deliveries = deliveryCounts.getOrDefault(record.getId(), 0L) + 1;
+            if (deliveries > maxDeliveries) {
+                Object payload = record.getValue().get(MailOutbox.PAYLOAD_FIELD);
+                deadLetter(record, payload == null ? "" : payload.toString(), "delivered " + deliveries + " times without ack");
+            } else {
+                process(connection, record);
+            }
+        }
+    }
+
+    private void process(SmtpConnection connection, MapRecord<String, Object, Object> record) {
+        Object payload = record.getValue().get(MailOutbox.PAYLOAD_FIELD);
+        if (payload != null) {
+            MailMessageDto mailMessage;
+            try {
+                mailMessage = mailOutbox.deserialize(payload.toString());
+            } catch (IllegalArgumentException e) {
+                deadLetter(record, payload.toString(), e.getMessage());
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                connection.send(mailMessage);
+                authMetrics.recordMailSend(start, true);
+                sentCount.increment();
+            } catch (Exception e) {
+                authMetrics.recordMailSend(start, false);
+                failedCount.increment();
+                connection.close();
+                handleFailure(mailMessage, e);
+            }
+        }
+        acknowledge(record);
+    }
+
+    // 발송할 수 없는 record: 원문을 dead letter 로 옮기고 ack
+    private void deadLetter(MapRecord<String, Object, Object> record, String payload, String error) {
+        deadLetterCount.increment();
+        log.error("Mail outbox record {} moved to dead letter: {}", record.getId(), error);
+        mailOutbox.deadLetter(payload, error);
+        acknowledge(record);
+    }
+
+    private void acknowledge(MapRecord<String, Object, Object> record) {
+        redisTemplate.opsForStream().acknowledge(MailOutbox.STREAM_KEY, GROUP, record.getId());
+        redisTemplate.opsForStream().delete(MailOutbox.STREAM_KEY, record.getId());
+    }
+
+    private void handleFailure(MailMessageDto mailMessage, Exception e) {
+        int attempt = mailMessage.getAttempt() + 1;
+        mailMessage.setAttempt(attempt);
+        if (attempt >= maxAttempts) {
+            deadLetterCount.increment();
+            log.error("Mail to {} moved to dead letter after {} attempts: {}", mailMessage.getTo(), attempt, e.getMessage());
+            mailOutbox.deadLetter(mailMessage);
+            return;
+        }
+        retriedCount.increment();
+        long retryAt = System.currentTimeMillis() + backoffMillis(attempt);
+        log.warn("Mail to {} failed (attempt {}), retry scheduled: {}", mailMessage.getTo(), attempt, e.getMessage());
+        mailOutbox.scheduleRetry(mailMessage, retryAt);
+    }
+
+    // 지수 backoff (+ 최대 20% jitter)
+    private long backoffMillis(int attempt) {
+        long backoff = backoffInitialMillis << Math.min(attempt - 1, 20);
+        backoff = Math.min(backoffMaxMillis, backoff);
+        return backoff + ThreadLocalRandom.current().nextLong(backoff / 5 + 1);
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // worker 전용 SMTP 연결: 끊겼을 때만 다시 연결한다.
+    private class SmtpConnection {
+        private Transport transport;
+
+        private void send(MailMessageDto mailMessage) throws MessagingException {
+            MimeMessage mimeMessage = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+            helper.setTo(mailMessage.getTo());
+            helper.setSubject(mailMessage.getTitle());
+            helper.setText(mailMessage.getContent(), true);
+            mimeMessage.saveChanges();
+
+            transport().sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+        }
+
+        private Transport transport() throws MessagingException {
+            if (transport == null || !transport.isConnected()) {
+                close();
+                // smtpConfig 는 protocol 을 session property (mail.transport.protocol) 로만 지정한다.
+                transport = mailSender.getProtocol() == null
+                        ? mailSender.getSession().getTransport()
+                        : mailSender.getSession().getTransport(mailSender.getProtocol());
+                transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            }
+            return transport;
+        }
+
+        private void close() {
+            if (transport != null) {
+                try {
+                    transport.close();
+                } catch (MessagingException e) {
+                    log.debug("Failed to close SMTP transport: {}", e.getMessage());
+                }
+                transport = null;
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        ensureGroup();
+        running = true;
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "auth";
+        }
+        for (int i = 0; i < workers; i++) {
+            String consumerName = host + "-" + i;
+            Thread thread = new Thread(() -> runWorker(consumerName), "mail-outbox-worker-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            workerThreads.add(thread);
+        }
+    }
+
+    // 처리 중인 batch 는 끝까지 보내고 종료, 미처리 메일은 stream 에 남아 다음 기동 시 발송된다.
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : workerThreads) {
+            try {
+                thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workerThreads.clear();
+        log.info("Mail outbox worker stopped: sent={}, failed={}, retried={}, deadLetter={}",
+                sentCount.sum(), failedCount.sum(), retriedCount.sum(), deadLetterCount.sum());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long sentCount() {
+        return sentCount.sum();
+    }
+
+    public long failedCount() {
+        return failedCount.sum();
+    }
+
+    public long retriedCount() {
+        return retriedCount.sum();
+    }
+
+    public long deadLetterCount() {
+        return deadLetterCount.sum();
+    }
+
+    public long claimedCount() {
+        return claimedCount.sum();
+    }
+
+    public Long backlog() {
+        return redisTemplate.opsForStream().size(MailOutbox.STREAM_KEY);
+    }
+}
@@ -0,0 +1,252 @@
+package com.nodove.community.nodove.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nodove.community.nodove.dto.security.RateLimitIncrement;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// login / register / email resend 요청 한도 (endpoint x {IP, 계정}).
+//  - fast path: 인스턴스 로컬 token bucket (Caffeine 에 key 별로 보관, bucket 단위 lock). Redis 호출 없음
+//  - 정산: reconcile-interval-ms 마다 로컬에서 허용한 수를 Redis 고정 window counter 에 한 번의 pipeline 으로 더하고,
+//          cluster 전체 합이 한도를 넘은 key 는 window 가 끝날 때까지 로컬에서도 거절한다.
+// 따라서 cluster 전체 한도는 정산 주기만큼 늦게 반영된다. (Redis 장애 시에도 로컬 한도는 유지)
+@Slf4j
+@Component
+public class RateLimiter {
+
+    public static final String RATE_LIMIT_PREFIX = "RATE_LIMIT:";
+
+    public enum Endpoint {
+        LOGIN("login"),
+        REGISTER("register"),
+        EMAIL_RESEND("email-resend");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+    }
+
+    public enum Dimension {
+        IP, ACCOUNT
+    }
+
+    private final boolean enabled;
+    private final RedisServiceManager redisService;
+    private final Map<Endpoint, Map<Dimension, Rule>> rules = new EnumMap<>(Endpoint.class);
+    private final Cache<String, Bucket> buckets;
+    private final LongAdder rejected = new LongAdder();
+    private final LongSupplier clock;
+
+    @Autowired
+    public RateLimiter(
+            RedisServiceManager redisService,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.max-keys:200000}") long maxKeys,
+            @Value("${rate-limit.login.ip:30/60}") String loginIp,
+            @Value("${rate-limit.login.account:10/300}") String loginAccount,
+            @Value("${rate-limit.register.ip:10/3600}") String registerIp,
+            @Value("${rate-limit.register.account:3/3600}") String registerAccount,
+            @Value("${rate-limit.email-resend.ip:10/3600}") String emailResendIp,
+            @Value("${rate-limit.email-resend.account:3/600}") String emailResendAccount
+    ) {
+        this(redisService, enabled, maxKeys, loginIp, loginAccount, registerIp, registerAccount, emailResendIp, emailResendAccount,
+                System::currentTimeMillis);
+    }
+
+    RateLimiter(RedisServiceManager redisService, boolean enabled, long maxKeys,
+                String loginIp, String loginAccount, String registerIp, String registerAccount,
+                String emailResendIp, String emailResendAccount, LongSupplier clock) {
+        this.redisService = redisService;
+        this.enabled = enabled;
+        this.clock = clock;
+        rule(Endpoint.LOGIN, Dimension.IP, loginIp);
+        rule(Endpoint.LOGIN, Dimension.ACCOUNT, loginAccount);
+        rule(Endpoint.REGISTER, Dimension.IP, registerIp);
+        rule(Endpoint.REGISTER, Dimension.ACCOUNT, registerAccount);
+        rule(Endpoint.EMAIL_RESEND, Dimension.IP, emailResendIp);
+        rule(Endpoint.EMAIL_RESEND, Dimension.ACCOUNT, emailResendAccount);
+
+        long longestWindowMillis = rules.values().stream()
+                .flatMap(byDimension -> byDimension.values().stream())
+                .mapToLong(Rule::getWindowMillis)
+                .max().orElse(TimeUnit.MINUTES.toMillis(1));
+        // 가득 찬 상태로 window 동안 접근이 없으면 bucket 을 버려도 결과가 같다.
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMillis(longestWindowMillis))
+                .build();
+        log.info("RateLimiter enabled={}, rules={}", enabled, rules);
+    }
+
+    private void rule(Endpoint endpoint, Dimension dimension, String spec) {
+        Rule rule = Rule.parse(endpoint.key + ":" + dimension.name().toLowerCase(Locale.ROOT), spec);
+        if (rule != null) {
+            rules.computeIfAbsent(endpoint, e -> new EnumMap<>(Dimension.class)).put(dimension, rule);
+        }
+    }
+
+    // 허용이면 0, 거절이면 Retry-After (초)
+    public long tryAcquire(Endpoint endpoint, Dimension dimension, String key) {
+        if (!enabled || key == null || key.isBlank()) {
+            return 0L;
+        }
+        Map<Dimension, Rule> byDimension = rules.get(endpoint);
+        Rule rule = byDimension == null ? null : byDimension.get(dimension);
+        if (rule == null) {
+            return 0L;
+        }
+        String bucketKey = rule.getName() + ":" + normalize(dimension, key);
+        long now = clock.getAsLong();
+        long retryAfterMillis = buckets.get(bucketKey, k -> new Bucket(rule, now)).tryAcquire(now);
+        if (retryAfterMillis > 0) {
+            rejected.increment();
+            return Math.max(1L, TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999));
+        }
+        return 0L;
+    }
+
+    private static String normalize(Dimension dimension, String key) {
+        return dimension == Dimension.ACCOUNT ? key.trim().toLowerCase(Locale.ROOT) : key;
+    }
+
+    // 로컬에서 허용한 수를 Redis 에 정산하고, cluster 전체 한도를 넘은 key 를 표시
+    @Scheduled(fixedDelayString = "${rate-limit.reconcile-interval-ms:200}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        long now = clock.getAsLong();
+        List<Bucket> pendingBuckets = new ArrayList<>();
+        List<RateLimitIncrement> increments = new ArrayList<>();
+        buckets.asMap().forEach((bucketKey, bucket) -> {
+            long pending = bucket.drainPending();
+            if (pending > 0) {
+                Rule rule = bucket.rule;
+                long window = now / rule.getWindowMillis();
+                pendingBuckets.add(bucket);
+                increments.add(new RateLimitIncrement(RATE_LIMIT_PREFIX + bucketKey + ":" + window, pending, rule.getWindowMillis()));
+            }
+        });
+        if (increments.isEmpty()) {
+            return;
+        }
+
+        List<Long> totals;
+        try {
+            totals = redisService.incrementRateLimitCounters(increments);
+        } catch (RuntimeException e) {
+            log.warn("Rate limit reconcile failed, keeping local limits only: {}", e.getMessage());
+            return;
+        }
+        for (int i = 0; i < pendingBuckets.size(); i++) {
+            Bucket bucket = pendingBuckets.get(i);
+            Long total = totals.get(i);
+            if (total != null && total >= bucket.rule.getLimit()) {
+                long windowMillis = bucket.rule.getWindowMillis();
+                bucket.denyUntil((now / windowMillis + 1) * windowMillis);
+            }
+        }
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    public long trackedKeys() {
+        return buckets.estimatedSize();
+    }
+
+    // "<limit>/<window seconds>", limit 0 이하 = 제한 없음
+    @Getter
+    public static final class Rule {
+        private final String name;
+        private final long limit;
+        private final long windowMillis;
+
+        private Rule(String name, long limit, long windowMillis) {
+            this.name = name;
+            this.limit = limit;
+            this.windowMillis = windowMillis;
+        }
+
+        static Rule parse(String name, String spec) {
+            String[] parts = spec.trim().split("/");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("rate-limit rule must be <limit>/<window seconds>: " + name + "=" + spec);
+            }
+            long limit = Long.parseLong(parts[0].trim());
+            long windowSeconds = Long.parseLong(parts[1].trim());
+            if (limit <= 0) {
+                return null;
+            }
+            if (windowSeconds <= 0) {
+                throw new IllegalArgumentException("rate-limit window must be positive: " + name + "=" + spec);
+            }
+            return new Rule(name, limit, TimeUnit.SECONDS.toMillis(windowSeconds));
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + limit + "/" + TimeUnit.MILLISECONDS.toSeconds(windowMillis) + "s";
+        }
+    }
+
+    // 용량 limit, window 동안 limit 개가 다시 채워지는 token bucket
+    private static final class Bucket {
+        private final Rule rule;
+        private final double tokensPerMilli;
+        private double tokens;
+        private long refilledAt;
+        private long pending;      // 마지막 정산 이후 허용한 수
+        private long deniedUntil;  // cluster 전체 한도 초과 시 window 종료 시각 (epoch millis)
+
+        private Bucket(Rule rule, long now) {
+            this.rule = rule;
+            this.tokensPerMilli = (double) rule.getLimit() / rule.getWindowMillis();
+            this.tokens = rule.getLimit();
+            this.refilledAt = now;
+        }
+
+        // 허용이면 0, 거절이면 다시 시도할 수 있을 때까지의 millis
+        synchronized long tryAcquire(long now) {
+            if (now < deniedUntil) {
+                return deniedUntil - now;
+            }
+            tokens = Math.min(rule.getLimit(), tokens + (now - refilledAt) * tokensPerMilli);
+            refilledAt = now;
+            if (tokens < 1.0) {
+                return (long) Math.ceil((1.0 - tokens) / tokensPerMilli);
+            }
+            tokens -= 1.0;
+            pending++;
+            return 0L;
+        }
+
+        synchronized long drainPending() {
+            long drained = pending;
+            pending = 0;
+            return drained;
+        }
+
+        synchronized void denyUntil(long epochMillis) {
+            deniedUntil = Math.max(deniedUntil, epochMillis);
+        }
+    }
+}
@@ -2,17 +2,32 @@ package com.nodove.community.nodove.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.nodove.community.nodove.domain.security.Token;
+import com.nodove.community.nodove.constants.JwtValidity;
 import com.nodove.community.nodove.domain.users.UserCaching;
+import com.nodove.community.nodove.dto.security.RateLimitIncrement;
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
+import com.nodove.community.nodove.dto.security.RefreshTokenSessionDto;
 import com.nodove.community.nodove.dto.security.Redis_Refresh_Token;
+import com.nodove.community.nodove.dto.user.CachedUserDto;
 import com.nodove.community.nodove.dto.user.UserBlockDto;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
@@ -20,8 +35,41 @@ import java.util.concurrent.TimeUnit;
 @RequiredArgsConstructor
 public class RedisService implements RedisServiceManager {
 
+    // 사용자별 refresh token session hash: field <deviceId> = refresh token, <deviceId>:exp = 만료 시각 (epoch millis)
+    // rotation 이후에는 <deviceId>:prev (직전 token), <deviceId>:rotated (교체 시각) 가 추가된다.
+    public static final String REFRESH_SESSIONS_PREFIX = "REFRESH_SESSIONS:";
+    private static final String EXPIRY_SUFFIX = ":exp";
+    private static final String PREVIOUS_SUFFIX = ":prev";
+    private static final String ROTATED_SUFFIX = ":rotated";
+
+    // 재발급 결과 memo: value = "<access token> <refresh token>" (JWT 에는 공백이 없다)
+    public static final String REISSUE_MEMO_PREFIX = "REISSUE_MEMO:";
+
+    // 사용자 축약본: USER_CACHE:id:<userId>, USER_CACHE:email:<email> 에 같은 JSON 을 둔다.
+    public static final String USER_CACHE_PREFIX = "USER_CACHE:";
+
+    private static final RedisScript<List> ROTATE_REFRESH_TOKEN_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/rotate_refresh_token.lua"), List.class);
+
+    // transaction 에 묶여야 하는 쓰기 (block 변경) / refresh token session (항상 master)
     private final RedisTemplate<String, String> redisTemplate;
+    // 단순 cache 조회 / 저장 fast path (transaction 미사용, redis.read-from 에 따라 replica 조회)
+    private final StringRedisTemplate cacheRedisTemplate;
     private final ObjectMapper objectMapper;
+    private final UserBlockNearCache userBlockNearCache;
+    private final BlockedUserFilter blockedUserFilter;
+    private final UserNearCache userNearCache;
+
+    // 기존 <provider>_REFRESH_<userId>_<deviceId> key 를 조회 시 hash 로 옮긴다. (전체 이전 완료 후 false)
+    @Value("${refresh-token.session.legacy-fallback:true}")
+    private boolean legacyFallback;
+
+    // 동시 refresh 요청이 같은 이전 token 을 제시해도 재사용으로 보지 않는 구간
+    @Value("${refresh-token.rotation.reuse-grace-ms:2000}")
+    private long reuseGraceMillis;
+
+    @Value("${user.cache.redis.ttl-seconds:600}")
+    private long userCacheTtlSeconds;
 
 
     /* Blocking User */
@@ -31,7 +79,12 @@ public class RedisService implements RedisServiceManager {
         return UserCaching.PREFIX_USER_BLOCKED + userId;
     }
 
-    private String generateRedisRefreshTokenKey(Redis_Refresh_Token redisRefreshToken) {
+    private String generateRefreshSessionKey(String provider, String userId) {
+        return REFRESH_SESSIONS_PREFIX + provider + ":" + userId;
+    }
+
+    // 이전 방식 (device 마다 별도 string key) -> migration 용으로만 사용
+    private String generateLegacyRefreshTokenKey(Redis_Refresh_Token redisRefreshToken) {
         return new StringBuilder(redisRefreshToken.getProvider())
                 .append("_REFRESH_")
                 .append(redisRefreshToken.getUserId())
@@ -51,19 +104,25 @@ public class RedisService implements RedisServiceManager {
 
             // Redis에 저장 (TTL 적용)
             redisTemplate.opsForValue().set(redisKey, value, userBlockDto.getDuration(), TimeUnit.MINUTES);
+            if (userBlockDto.isBlocked()) {
+                blockedUserFilter.add(userBlockDto.getUser());
+            }
+            publishBlockInvalidation(userBlockDto.getUser(), userBlockDto.isBlocked());
         } catch (JsonProcessingException e) {
             // 로그 및 사용자 정의 예외 처리
             throw new RuntimeException("Failed to serialize UserBlockDto for userId: " + userBlockDto.getUser(), e);
         }
     }
 
-    @Transactional
     @Override
     public UserBlockDto getBlockCaching(String userId) {
         String redisKey = generateRedisBlockedKey(userId);
 
         // Redis에서 조회
-        String value = redisTemplate.opsForValue().get(redisKey);
+        String value = cacheRedisTemplate.opsForValue().get(redisKey);
+        if (value == null) {
+            return null;
+        }
 
         try {
             // JSON 문자열을 DTO로 변환
@@ -82,83 +141,372 @@ public class RedisService implements RedisServiceManager {
 
         // Redis에서 삭제
         redisTemplate.delete(redisKey);
+        publishBlockInvalidation(userId, false);
+    }
+
+    // block 변경을 모든 auth 인스턴스의 near cache / 차단 사용자 filter 에 전파 (RedisConfig 의 listener 가 수신)
+    private void publishBlockInvalidation(String userId, boolean blocked) {
+        userBlockNearCache.invalidate(userId);
+        redisTemplate.convertAndSend(UserBlockNearCache.INVALIDATION_CHANNEL, UserBlockNearCache.invalidationMessage(userId, blocked));
     }
 
-    @Transactional
     @Override
     public boolean isBlocked(String userId) {
         String redisKey = generateRedisBlockedKey(userId);
 
         // Redis에서 조회
-        return redisTemplate.hasKey(redisKey);
+        return cacheRedisTemplate.hasKey(redisKey);
     }
 
-    // Save Refresh Token
-    @Transactional
+    // refresh token session 은 pipeline 을 사용하므로 @Transactional (MULTI) 로 감싸지 않는다.
+
+    // Save Refresh Token: HSET + PEXPIRE 를 한 번의 round trip 으로 전송
     @Override
     public void saveRefreshToken(Redis_Refresh_Token redisRefreshToken, String refreshToken) {
-        String key = generateRedisRefreshTokenKey(redisRefreshToken);
-        redisTemplate.opsForValue().set(key, refreshToken, Duration.ofMillis(Token.REFRESH_TOKEN_HEADER.getREFRESH_TOKEN_EXPIRATION()));
+        long validity = JwtValidity.REFRESH_TOKEN.getValidityInMillis();
+        saveRefreshToken(redisRefreshToken, refreshToken, System.currentTimeMillis() + validity);
     }
 
-    // Get Refresh Token
-    @Transactional
+    @SuppressWarnings("unchecked")
+    private void saveRefreshToken(Redis_Refresh_Token redisRefreshToken, String refreshToken, long expiresAt) {
+        String key = generateRefreshSessionKey(redisRefreshToken.getProvider(), redisRefreshToken.getUserId());
+        String deviceId = redisRefreshToken.getDeviceId();
+        if (deviceId == null) {
+            throw new IllegalArgumentException("deviceId is required to save refresh token for userId: " + redisRefreshToken.getUserId());
+        }
+        // 모든 session 의 유효기간이 같으므로 key TTL 은 가장 최근 session 기준으로 갱신
+        Duration keyTtl = Duration.ofMillis(JwtValidity.REFRESH_TOKEN.getValidityInMillis());
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForHash().putAll(key, Map.of(
+                        deviceId, refreshToken,
+                        deviceId + EXPIRY_SUFFIX, String.valueOf(expiresAt)));
+                ops.expire(key, keyTtl);
+                return null;
+            }
+        });
+    }
+
+    // Get Refresh Token: HMGET 한 번으로 token 과 만료 시각을 함께 조회
     @Override
     public String getRefreshToken(Redis_Refresh_Token redisRefreshToken) {
-        String key = generateRedisRefreshTokenKey(redisRefreshToken);
-        return redisTemplate.opsForValue().get(key);
+        String key = generateRefreshSessionKey(redisRefreshToken.getProvider(), redisRefreshToken.getUserId());
+        String deviceId = redisRefreshToken.getDeviceId();
+        if (deviceId == null) {
+            return null;
+        }
+        List<Object> values = redisTemplate.opsForHash().multiGet(key, List.of(deviceId, deviceId + EXPIRY_SUFFIX));
+
+        Object token = values.get(0);
+        if (token == null) {
+            return legacyFallback && migrateLegacyRefreshToken(redisRefreshToken)
+                    ? getRefreshToken(redisRefreshToken)
+                    : null;
+        }
+        Object expiresAt = values.get(1);
+        if (expiresAt != null && Long.parseLong(expiresAt.toString()) <= System.currentTimeMillis()) {
+            return null;
+        }
+        return token.toString();
     }
 
-    // Delete Refresh Token
-    @Transactional
+    // 제시된 token 이 device session 의 token 인지 (HMGET 한 번, 상수 시간 비교)
+    //  - acceptPrevious=false : 만료되지 않은 현재 token 만 (모든 device 로그아웃)
+    //  - acceptPrevious=true  : 만료된 현재 token, 재사용 허용 구간 안의 직전 token 도 허용 (해당 device 로그아웃)
+    @Override
+    public boolean matchesRefreshToken(Redis_Refresh_Token redisRefreshToken, String presentedToken, boolean acceptPrevious) {
+        String deviceId = redisRefreshToken.getDeviceId();
+        if (deviceId == null || presentedToken == null) {
+            return false;
+        }
+        String key = generateRefreshSessionKey(redisRefreshToken.getProvider(), redisRefreshToken.getUserId());
+        List<Object> values = redisTemplate.opsForHash().multiGet(key, List.of(deviceSessionFields(deviceId)));
+
+        Object current = values.get(0);
+        if (current == null) {
+            return legacyFallback && migrateLegacyRefreshToken(redisRefreshToken)
+                    && matchesRefreshToken(redisRefreshToken, presentedToken, acceptPrevious);
+        }
+        long now = System.currentTimeMillis();
+        if (tokenEquals(current, presentedToken)) {
+            Object expiresAt = values.get(1);
+            return acceptPrevious || expiresAt == null || Long.parseLong(expiresAt.toString()) > now;
+        }
+        Object previous = values.get(2);
+        Object rotatedAt = values.get(3);
+        return acceptPrevious && previous != null && rotatedAt != null
+                && tokenEquals(previous, presentedToken)
+                && now - Long.parseLong(rotatedAt.toString()) <= reuseGraceMillis;
+    }
+
+    private static boolean tokenEquals(Object stored, String presentedToken) {
+        return MessageDigest.isEqual(stored.toString().getBytes(StandardCharsets.UTF_8), presentedToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Delete Refresh Token (해당 device 만 로그아웃)
+    @SuppressWarnings("unchecked")
     @Override
     public void deleteRefreshToken(Redis_Refresh_Token redisRefreshToken) {
-        String key = generateRedisRefreshTokenKey(redisRefreshToken);
-        redisTemplate.delete(key);
+        String key = generateRefreshSessionKey(redisRefreshToken.getProvider(), redisRefreshToken.getUserId());
+        String deviceId = redisRefreshToken.getDeviceId();
+        if (deviceId == null) {
+            return;
+        }
+        String legacyKey = generateLegacyRefreshTokenKey(redisRefreshToken);
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForHash().delete(key, deviceSessionFields(deviceId));
+                if (legacyFallback) {
+                    ops.delete(legacyKey);
+                }
+                return null;
+            }
+        });
+    }
+
+    // 모든 device 로그아웃: hash key 하나만 삭제 (SCAN 불필요)
+    @Override
+    public boolean deleteAllRefreshTokens(String provider, String userId) {
+        return Boolean.TRUE.equals(redisTemplate.delete(generateRefreshSessionKey(provider, userId)));
+    }
+
+    // 로그인 중인 device 목록 (HGETALL 한 번), 만료된 session 은 함께 정리한다.
+    @Override
+    public List<RefreshTokenSessionDto> getRefreshSessions(String provider, String userId) {
+        String key = generateRefreshSessionKey(provider, userId);
+        Map<Object, Object> entries = redisTemplate.opsForHash().entries(key);
+        long now = System.currentTimeMillis();
+
+        List<RefreshTokenSessionDto> sessions = new ArrayList<>();
+        List<Object> expiredFields = new ArrayList<>();
+        for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+            String field = entry.getKey().toString();
+            if (field.indexOf(':') >= 0) {
+                continue; // 메타데이터 field
+            }
+            Object expiresAtValue = entries.get(field + EXPIRY_SUFFIX);
+            Long expiresAt = expiresAtValue == null ? null : Long.parseLong(expiresAtValue.toString());
+            if (expiresAt != null && expiresAt <= now) {
+                expiredFields.addAll(List.of(deviceSessionFields(field)));
+                continue;
+            }
+            sessions.add(RefreshTokenSessionDto.builder()
+                    .deviceId(field)
+                    .expiresAt(expiresAt)
+                    .build());
+        }
+        if (!expiredFields.isEmpty()) {
+            redisTemplate.opsForHash().delete(key, expiredFields.toArray());
+        }
+        return sessions;
+    }
+
+    // 비교 / 교체 / 재사용 감지를 scripts/rotate_refresh_token.lua 한 번의 호출로 원자적으로 처리
+    @Override
+    public RefreshTokenRotationResult rotateRefreshToken(Redis_Refresh_Token redisRefreshToken, String presentedToken, String newToken) {
+        if (redisRefreshToken.getDeviceId() == null || presentedToken == null) {
+            return RefreshTokenRotationResult.builder().status(RefreshTokenRotationResult.Status.MISSING).build();
+        }
+        String key = generateRefreshSessionKey(redisRefreshToken.getProvider(), redisRefreshToken.getUserId());
+        List<?> result = redisTemplate.execute(ROTATE_REFRESH_TOKEN_SCRIPT, List.of(key),
+                redisRefreshToken.getDeviceId(), presentedToken, newToken,
+                String.valueOf(System.currentTimeMillis()), String.valueOf(reuseGraceMillis));
+
+        RefreshTokenRotationResult.Status status = RefreshTokenRotationResult.Status.valueOf(result.get(0).toString());
+        if (status == RefreshTokenRotationResult.Status.MISSING && legacyFallback && migrateLegacyRefreshToken(redisRefreshToken)) {
+            return rotateRefreshToken(redisRefreshToken, presentedToken, newToken);
+        }
+        if (status == RefreshTokenRotationResult.Status.REUSED) {
+            log.warn("Refresh token reuse detected, session revoked: userId={}, deviceId={}",
+                    redisRefreshToken.getUserId(), redisRefreshToken.getDeviceId());
+        }
+        String refreshToken = result.get(1).toString();
+        return RefreshTokenRotationResult.builder()
+                .status(status)
+                .refreshToken(refreshToken.isEmpty() ? null : refreshToken)
+                .build();
+    }
+
+    private static Object[] deviceSessionFields(String deviceId) {
+        return new Object[]{deviceId, deviceId + EXPIRY_SUFFIX, deviceId + PREVIOUS_SUFFIX, deviceId + ROTATED_SUFFIX};
+    }
+
+    // 기존 string key 를 session hash 로 이전 (남은 TTL 을 만료 시각으로 보존)
+    @Override
+    public boolean migrateLegacyRefreshToken(Redis_Refresh_Token redisRefreshToken) {
+        String legacyKey = generateLegacyRefreshTokenKey(redisRefreshToken);
+        String refreshToken = redisTemplate.opsForValue().get(legacyKey);
+        if (refreshToken == null) {
+            return false;
+        }
+        Long ttlMillis = redisTemplate.getExpire(legacyKey, TimeUnit.MILLISECONDS);
+        if (ttlMillis == null || ttlMillis == -2) {
+            return false;
+        }
+        long remaining = ttlMillis > 0 ? ttlMillis : JwtValidity.REFRESH_TOKEN.getValidityInMillis();
+        saveRefreshToken(redisRefreshToken, refreshToken, System.currentTimeMillis() + remaining);
+        redisTemplate.delete(legacyKey);
+        log.info("Migrated legacy refresh token key: {}", legacyKey);
+        return true;
+    }
+
+    @Override
+    public RefreshTokenRotationResult getReissueMemo(String reissueKey) {
+        String value = cacheRedisTemplate.opsForValue().get(REISSUE_MEMO_PREFIX + reissueKey);
+        int separator = value == null ? -1 : value.indexOf(' ');
+        if (separator < 0) {
+            return null;
+        }
+        return RefreshTokenRotationResult.builder()
+                .status(RefreshTokenRotationResult.Status.GRACE)
+                .accessToken(value.substring(0, separator))
+                .refreshToken(value.substring(separator + 1))
+                .build();
+    }
+
+    @Override
+    public void saveReissueMemo(String reissueKey, RefreshTokenRotationResult result, long ttlMillis) {
+        cacheRedisTemplate.opsForValue().set(REISSUE_MEMO_PREFIX + reissueKey,
+                result.getAccessToken() + " " + result.getRefreshToken(), Duration.ofMillis(ttlMillis));
+    }
+
+    /* User projection cache */
+
+    @Override
+    public CachedUserDto getCachedUserByUserId(String userId) {
+        return readCachedUser(USER_CACHE_PREFIX + "id:" + userId);
+    }
+
+    @Override
+    public CachedUserDto getCachedUserByEmail(String email) {
+        CachedUserDto cachedUser = readCachedUser(USER_CACHE_PREFIX + "email:" + email);
+        return cachedUser != null && email.equals(cachedUser.getEmail()) ? cachedUser : null;
+    }
+
+    private CachedUserDto readCachedUser(String key) {
+        String value = cacheRedisTemplate.opsForValue().get(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(value, CachedUserDto.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Discard unreadable user cache entry: {}", key);
+            cacheRedisTemplate.delete(key);
+            return null;
+        }
+    }
+
+    // 두 key 를 한 번의 round trip 으로 기록
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setCachedUser(CachedUserDto cachedUser) {
+        String value;
+        try {
+            value = objectMapper.writeValueAsString(cachedUser);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize CachedUserDto for userId: " + cachedUser.getUserId(), e);
+        }
+        Duration ttl = Duration.ofSeconds(userCacheTtlSeconds);
+        cacheRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                ops.opsForValue().set(USER_CACHE_PREFIX + "id:" + cachedUser.getUserId(), value, ttl);
+                ops.opsForValue().set(USER_CACHE_PREFIX + "email:" + cachedUser.getEmail(), value, ttl);
+                return null;
+            }
+        });
+    }
+
+    // 한쪽만 알고 있으면 Redis entry 에서 나머지를 찾아 함께 지운다.
+    @Override
+    public void evictCachedUser(String userId, String email) {
+        List<String> keys = new ArrayList<>(4);
+        CachedUserDto known = userId != null ? getCachedUserByUserId(userId) : null;
+        if (known == null && email != null) {
+            known = readCachedUser(USER_CACHE_PREFIX + "email:" + email);
+        }
+        if (userId != null) {
+            keys.add(USER_CACHE_PREFIX + "id:" + userId);
+        }
+        if (email != null) {
+            keys.add(USER_CACHE_PREFIX + "email:" + email);
+        }
+        if (known != null) {
+            keys.add(USER_CACHE_PREFIX + "id:" + known.getUserId());
+            keys.add(USER_CACHE_PREFIX + "email:" + known.getEmail());
+        }
+        cacheRedisTemplate.delete(keys);
+
+        String resolvedUserId = userId != null ? userId : known != null ? known.getUserId() : null;
+        String resolvedEmail = email != null ? email : known != null ? known.getEmail() : null;
+        userNearCache.invalidate(resolvedUserId, resolvedEmail);
+        cacheRedisTemplate.convertAndSend(UserNearCache.INVALIDATION_CHANNEL, UserNearCache.invalidationMessage(resolvedUserId, resolvedEmail));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> incrementRateLimitCounters(List<RateLimitIncrement> increments) {
+        List<Object> results = cacheRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = (RedisOperations<String, String>) operations;
+                for (RateLimitIncrement increment : increments) {
+                    ops.opsForValue().increment(increment.getKey(), increment.getDelta());
+                    ops.expire(increment.getKey(), increment.getTtlMillis(), TimeUnit.MILLISECONDS);
+                }
+                return null;
+            }
+        });
+        // 결과는 [INCRBY, PEXPIRE, INCRBY, PEXPIRE, ...]
+        List<Long> totals = new ArrayList<>(increments.size());
+        for (int i = 0; i < results.size(); i += 2) {
+            totals.add((Long) results.get(i));
+        }
+        return totals;
     }
 
-    @Transactional
     @Override
     public boolean UserEmailExists(String email) {
-        return redisTemplate.hasKey(UserCaching.PREFIX_USER_EMAIL + email);
+        return cacheRedisTemplate.hasKey(UserCaching.PREFIX_USER_EMAIL + email);
     }
 
-    @Transactional
     @Override
     public boolean UserIdExists(String userId) {
-        return redisTemplate.hasKey(UserCaching.PREFIX_USER_ID + userId);
+        return cacheRedisTemplate.hasKey(UserCaching.PREFIX_USER_ID + userId);
     }
 
-    @Transactional
     @Override
     public boolean UserNickExists(String userNick) {
-        return redisTemplate.hasKey(UserCaching.PREFIX_USER_NICK + userNick);
+        return cacheRedisTemplate.hasKey(UserCaching.PREFIX_USER_NICK + userNick);
     }
-    @Transactional
     @Override
     public void saveUserNick(String userNick) {
-        redisTemplate.opsForValue().set(UserCaching.PREFIX_USER_NICK + userNick, userNick, Duration.ofDays(1));
+        cacheRedisTemplate.opsForValue().set(UserCaching.PREFIX_USER_NICK + userNick, userNick, Duration.ofDays(1));
     }
-    @Transactional
     @Override
     public void saveUserEmail(String email) {
-        redisTemplate.opsForValue().set(UserCaching.PREFIX_USER_EMAIL + email, email, Duration.ofDays(1));
+        cacheRedisTemplate.opsForValue().set(UserCaching.PREFIX_USER_EMAIL + email, email, Duration.ofDays(1));
     }
-    @Transactional
     @Override
     public void saveUserId(String userId) {
-        redisTemplate.opsForValue().set(UserCaching.PREFIX_USER_ID + userId, userId, Duration.ofDays(1));
+        cacheRedisTemplate.opsForValue().set(UserCaching.PREFIX_USER_ID + userId, userId, Duration.ofDays(1));
     }
-    @Transactional
     @Override
     public String getEmailCode(String email) {
-        return redisTemplate.opsForValue().get(UserCaching.PREFIX_USER_EMAIL_CODE + email);
+        return cacheRedisTemplate.opsForValue().get(UserCaching.PREFIX_USER_EMAIL_CODE + email);
     }
-    @Transactional
     @Override
     public void saveEmailCode(String email, String code) {
         log.info("saveEmailCode: email={}, code={}", email, code);
-        redisTemplate.opsForValue().set(UserCaching.PREFIX_USER_EMAIL_CODE + email, code, Duration.ofMinutes(30));
+        cacheRedisTemplate.opsForValue().set(UserCaching.PREFIX_USER_EMAIL_CODE + email, code, Duration.ofMinutes(30));
     }
 
     /* Blocking User */
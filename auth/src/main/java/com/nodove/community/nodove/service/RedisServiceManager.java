@@ -1,56 +1,84 @@
 package com.nodove.community.nodove.service;
 
+import com.nodove.community.nodove.dto.security.RateLimitIncrement;
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
+import com.nodove.community.nodove.dto.security.RefreshTokenSessionDto;
 import com.nodove.community.nodove.dto.security.Redis_Refresh_Token;
+import com.nodove.community.nodove.dto.user.CachedUserDto;
 import com.nodove.community.nodove.dto.user.UserBlockDto;
 import jakarta.transaction.Transactional;
 
+import java.util.List;
+
 public interface RedisServiceManager {
 
     @Transactional
     void setBlockCaching(UserBlockDto userBlockDto);
 
-    @Transactional
+    // 조회 / 단순 cache 저장은 transaction 없이 처리한다. (RedisService.cacheRedisTemplate)
     UserBlockDto getBlockCaching(String userId);
 
     @Transactional
     void deleteBlockCaching(String userId);
 
-    @Transactional
     boolean isBlocked(String userId);
 
     // Save Refresh Token
-    @Transactional
     void saveRefreshToken(Redis_Refresh_Token redisRefreshToken, String refreshToken);
 
     // Get Refresh Token
-    @Transactional
     String getRefreshToken(Redis_Refresh_Token redisRefreshToken);
 
+    // 제시된 refresh token 이 device session 의 token 인지 (로그아웃 시 소유 확인)
+    boolean matchesRefreshToken(Redis_Refresh_Token redisRefreshToken, String presentedToken, boolean acceptPrevious);
+
     // Delete Refresh Token
-    @Transactional
     void deleteRefreshToken(Redis_Refresh_Token redisRefreshToken);
 
-    @Transactional
+    // Delete all Refresh Tokens of user (모든 device 로그아웃)
+    boolean deleteAllRefreshTokens(String provider, String userId);
+
+    // List Refresh Token sessions of user
+    List<RefreshTokenSessionDto> getRefreshSessions(String provider, String userId);
+
+    // 제시된 refresh token 이 현재 token 이면 newToken 으로 교체, 이전 token 재사용 시 session 폐기 (1 round trip)
+    RefreshTokenRotationResult rotateRefreshToken(Redis_Refresh_Token redisRefreshToken, String presentedToken, String newToken);
+
+    // <provider>_REFRESH_<userId>_<deviceId> key -> session hash
+    boolean migrateLegacyRefreshToken(Redis_Refresh_Token redisRefreshToken);
+
+    // 다른 인스턴스가 방금 재발급한 결과 (TokenReissueCoalescer, 없으면 null)
+    RefreshTokenRotationResult getReissueMemo(String reissueKey);
+
+    void saveReissueMemo(String reissueKey, RefreshTokenRotationResult result, long ttlMillis);
+
+    /* User projection cache (UserCacheService) */
+
+    CachedUserDto getCachedUserByUserId(String userId);
+
+    CachedUserDto getCachedUserByEmail(String email);
+
+    void setCachedUser(CachedUserDto cachedUser);
+
+    // Redis 의 userId / email key 삭제 + 모든 인스턴스의 near cache 무효화
+    void evictCachedUser(String userId, String email);
+
+    // RateLimiter 정산: INCRBY + PEXPIRE 를 한 번의 pipeline 으로, 각 counter 의 증가 후 값을 순서대로 반환
+    List<Long> incrementRateLimitCounters(List<RateLimitIncrement> increments);
+
     boolean UserEmailExists(String email);
 
-    @Transactional
     boolean UserIdExists(String userId);
 
-    @Transactional
     boolean UserNickExists(String userNick);
 
-    @Transactional
     void saveUserNick(String userNick);
 
-    @Transactional
     void saveUserEmail(String email);
 
-    @Transactional
     void saveUserId(String userId);
 
-    @Transactional
     String getEmailCode(String email);
 
-    @Transactional
     void saveEmailCode(String email, String code);
 }
@@ -0,0 +1,86 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.dto.security.Redis_Refresh_Token;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+// 기존 <provider>_REFRESH_<userId>_<deviceId> string key 를 사용자별 session hash 로 일괄 이전.
+// 이전 전까지는 RedisService 의 legacy-fallback 이 조회 시점에 key 를 하나씩 옮긴다.
+// 모든 인스턴스가 새 버전으로 교체된 뒤 한 번 실행하고, 완료되면 legacy-fallback 을 끈다.
+@Slf4j
+@Component
+public class RefreshTokenSessionMigrator {
+
+    private static final String LEGACY_MARKER = "_REFRESH_";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisServiceManager redisService;
+    private final boolean migrateOnStartup;
+
+    public RefreshTokenSessionMigrator(
+            RedisTemplate<String, String> redisTemplate,
+            RedisServiceManager redisService,
+            @Value("${refresh-token.session.migrate-on-startup:false}") boolean migrateOnStartup
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.redisService = redisService;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (migrateOnStartup) {
+            migrate();
+        }
+    }
+
+    // SCAN 으로 순회하므로 Redis 를 block 하지 않는다. 여러 인스턴스가 동시에 실행해도 key 단위로 멱등.
+    public int migrate() {
+        int migrated = 0;
+        int skipped = 0;
+        ScanOptions options = ScanOptions.scanOptions().match("*" + LEGACY_MARKER + "*").count(1000).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                Redis_Refresh_Token legacy = parseLegacyKey(key);
+                if (legacy == null) {
+                    skipped++;
+                    continue;
+                }
+                try {
+                    if (redisService.migrateLegacyRefreshToken(legacy)) {
+                        migrated++;
+                    }
+                } catch (Exception e) {
+                    skipped++;
+                    log.warn("Failed to migrate legacy refresh token key {}: {}", key, e.getMessage());
+                }
+            }
+        }
+        log.info("Refresh token session migration finished: migrated={}, skipped={}", migrated, skipped);
+        return migrated;
+    }
+
+    // <provider>_REFRESH_<userId>_<deviceId>, deviceId 는 UUID 라 '_' 를 포함하지 않는다.
+    private Redis_Refresh_Token parseLegacyKey(String key) {
+        if (key.startsWith(RedisService.REFRESH_SESSIONS_PREFIX)) {
+            return null;
+        }
+        int marker = key.indexOf(LEGACY_MARKER);
+        int lastSeparator = key.lastIndexOf('_');
+        if (marker <= 0 || lastSeparator <= marker + LEGACY_MARKER.length() || lastSeparator == key.length() - 1) {
+            return null;
+        }
+        return Redis_Refresh_Token.builder()
+                .provider(key.substring(0, marker))
+                .userId(key.substring(marker + LEGACY_MARKER.length(), lastSeparator))
+                .deviceId(key.substring(lastSeparator + 1))
+                .build();
+    }
+}
@@ -1,11 +1,10 @@
 package com.nodove.community.nodove.service;
 
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
+import com.nodove.community.nodove.configuration.security.EmailCodeHmac;
 import com.nodove.community.nodove.domain.users.UserCaching;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.UUID;
@@ -16,8 +15,9 @@ import java.util.UUID;
 public class SmtpService implements SmtpServiceManager{
 
     private final RedisServiceManager redisService;
-    private final JavaMailSender mailSender;
-    private final PasswordEncoder passwordEncoder;
+    private final MailOutbox mailOutbox;
+    private final EmailCodeHmac emailCodeHmac;
+    private final AuthMetrics authMetrics;
 
     @Override
     public void sendJoinMail(String email) {
@@ -44,8 +44,9 @@ public class SmtpService implements SmtpServiceManager{
                     + "    </div>\n"
                     + "</body>\n"
                     + "</html>";
-            String encodedRand = passwordEncoder.encode(rand);
-            redisService.saveEmailCode(UserCaching.PREFIX_USER_EMAIL + email, encodedRand);
+            // bcrypt 대신 keyed HMAC 으로 저장 (1회용 랜덤 코드라 느린 hash 가 필요 없음)
+            String signedRand = emailCodeHmac.sign(email, rand);
+            redisService.saveEmailCode(UserCaching.PREFIX_USER_EMAIL + email, signedRand);
             log.info("Email code saved for email={}", email);
             MailSender(email, title, content);
         } catch (Exception e) {
@@ -54,31 +55,23 @@ public class SmtpService implements SmtpServiceManager{
     }
 
 
+    // 저장된 값은 HMAC 이므로 평문 비교가 아닌 checkEmailCodeValidation 으로 검증
     @Override
     public boolean checkJoinEmailCode(String email, String code) {
-        try {
-            String savedCode = redisService.getEmailCode(UserCaching.PREFIX_USER_EMAIL + email);
-            if (savedCode == null) {
-                return false;
-            }
-            return (savedCode).equals(code);
-        } catch (Exception e) {
-            log.error("Failed to check join email code for email={}", email, e);
-            return false;
-        }
+        return checkEmailCodeValidation(email, code);
     }
 
 
+    // 실제 SMTP 발송은 MailOutboxWorker 가 수행 (요청 / 트랜잭션이 SMTP handshake 를 기다리지 않음)
     @Override
     public void MailSender(String email, String title, String content) {
+        long start = System.nanoTime();
         try {
-            MimeMessageHelper message = new MimeMessageHelper(mailSender.createMimeMessage(), true, "UTF-8");
-            message.setTo(email);
-            message.setSubject(title);
-            message.setText(content, true);
-            mailSender.send(message.getMimeMessage());
+            mailOutbox.enqueue(email, title, content);
         } catch (Exception e) {
-            log.error("Failed to send mail for email={}", email, e);
+            log.error("Failed to enqueue mail for email={}", email, e);
+        } finally {
+            authMetrics.recordMailEnqueue(start);
         }
     }
 
@@ -89,7 +82,7 @@ public class SmtpService implements SmtpServiceManager{
             if (encodedCode == null || rawCode == null || rawCode.isEmpty() || encodedCode.isEmpty()) {
                 return false;
             }
-            return passwordEncoder.matches(rawCode, encodedCode);
+            return emailCodeHmac.verify(email, rawCode, encodedCode);
         } catch (Exception e) {
             log.error("Failed to check email code validation for email={}", email, e);
             return false;
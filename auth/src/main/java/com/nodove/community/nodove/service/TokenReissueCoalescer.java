@@ -0,0 +1,117 @@
+package com.nodove.community.nodove.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.nodove.community.nodove.configuration.security.JWT.TokenDigest;
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// 같은 refresh token (+ device) 으로 동시에 들어온 재발급 요청을 한 번의 계산으로 합친다.
+// 모바일 클라이언트가 access token 만료 직후 API 를 여러 개 동시에 호출하는 경우,
+// 첫 요청만 rotation script / 서명 / (필요 시) 사용자 조회를 수행하고 나머지는 그 결과를 받는다.
+//  - node 내부: in-flight future + 결과 memo (Caffeine, memo-ms)
+//  - node 간  : Redis memo (refresh-token.reissue.distributed=true)
+// memo 는 rotation 의 reuse grace 보다 오래 유지하지 않는다. (grace 이후의 이전 token 제시는 재사용 감지 대상)
+@Slf4j
+@Component
+public class TokenReissueCoalescer {
+
+    private final RedisServiceManager redisService;
+    private final boolean distributed;
+    private final long memoMillis;
+    private final AsyncCache<String, RefreshTokenRotationResult> inFlight;
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+
+    public TokenReissueCoalescer(
+            RedisServiceManager redisService,
+            @Value("${refresh-token.reissue.distributed:false}") boolean distributed,
+            @Value("${refresh-token.reissue.memo-ms:2000}") long memoMillis,
+            @Value("${refresh-token.reissue.max-entries:10000}") long maxEntries,
+            @Value("${refresh-token.rotation.reuse-grace-ms:2000}") long reuseGraceMillis
+    ) {
+        this.redisService = redisService;
+        this.distributed = distributed;
+        this.memoMillis = Math.min(memoMillis, reuseGraceMillis);
+        // 완료되지 않은 future 는 만료되지 않고, 예외로 끝난 future 는 자동으로 제거된다.
+        this.inFlight = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(1L, this.memoMillis)))
+                .maximumSize(maxEntries)
+                .buildAsync();
+        log.info("TokenReissueCoalescer distributed={}, memoMillis={}", distributed, this.memoMillis);
+    }
+
+    public RefreshTokenRotationResult reissue(String presentedRefreshToken, String deviceId, Supplier<RefreshTokenRotationResult> reissue) {
+        if (presentedRefreshToken == null || deviceId == null || memoMillis <= 0) {
+            return reissue.get();
+        }
+        String key = TokenDigest.of(presentedRefreshToken) + ":" + deviceId;
+
+        CompletableFuture<RefreshTokenRotationResult> leader = new CompletableFuture<>();
+        CompletableFuture<RefreshTokenRotationResult> existing = inFlight.asMap().putIfAbsent(key, leader);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+
+        try {
+            RefreshTokenRotationResult result = computeOnce(key, reissue);
+            leader.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            leader.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private RefreshTokenRotationResult computeOnce(String key, Supplier<RefreshTokenRotationResult> reissue) {
+        if (distributed) {
+            RefreshTokenRotationResult memo = redisService.getReissueMemo(key);
+            if (memo != null) {
+                remoteHits.increment();
+                return memo;
+            }
+        }
+        computed.increment();
+        RefreshTokenRotationResult result = reissue.get();
+        if (distributed && result.getStatus() == RefreshTokenRotationResult.Status.ROTATED) {
+            redisService.saveReissueMemo(key, result, memoMillis);
+        }
+        return result;
+    }
+
+    private static RefreshTokenRotationResult await(CompletableFuture<RefreshTokenRotationResult> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 실제로 재발급을 수행한 횟수
+    public long computedCount() {
+        return computed.sum();
+    }
+
+    // 같은 node 의 진행 중 / 직전 결과를 받은 횟수
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    // 다른 node 의 Redis memo 를 받은 횟수
+    public long remoteHitCount() {
+        return remoteHits.sum();
+    }
+}
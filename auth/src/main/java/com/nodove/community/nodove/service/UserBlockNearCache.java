@@ -0,0 +1,118 @@
+package com.nodove.community.nodove.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nodove.community.nodove.dto.user.UserBlockDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// UserBlockService.getBlockCaching 앞단의 in-process near cache.
+// "차단 없음(null)" 결과도 캐싱하며, block 변경 시 Redis pub/sub 으로 모든 인스턴스에서 무효화된다.
+@Slf4j
+@Component
+public class UserBlockNearCache {
+
+    public static final String INVALIDATION_CHANNEL = "USER_BLOCK_INVALIDATION";
+    private static final String BLOCKED_SUFFIX = "\nblocked";
+
+    private final long ttlNanos;
+    private final Cache<String, Entry> cache;
+
+    public UserBlockNearCache(
+            @Value("${user.block.near-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${user.block.near-cache.max-entries:100000}") long maxEntries
+    ) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new BlockExpiry())
+                .recordStats()
+                .build();
+    }
+
+    // 캐시 미스 시 null, 캐시 히트 시 Entry (entry.getUserBlock() 은 차단 없음이면 null)
+    public Entry get(String userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    public void put(String userId, UserBlockDto userBlockDto) {
+        cache.put(userId, new Entry(userBlockDto));
+    }
+
+    public void invalidate(String userId) {
+        log.debug("Invalidate user block near cache: userId={}", userId);
+        cache.invalidate(userId);
+    }
+
+    // pub/sub message: 새 차단이면 "<userId>\nblocked", 해제 / 변경이면 "<userId>"
+    public static String invalidationMessage(String userId, boolean blocked) {
+        return blocked ? userId + BLOCKED_SUFFIX : userId;
+    }
+
+    public static String invalidatedUserId(String message) {
+        return isBlockedMessage(message) ? message.substring(0, message.length() - BLOCKED_SUFFIX.length()) : message;
+    }
+
+    public static boolean isBlockedMessage(String message) {
+        return message.endsWith(BLOCKED_SUFFIX);
+    }
+
+    public void onInvalidationMessage(String message) {
+        invalidate(invalidatedUserId(message));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    public static final class Entry {
+        private final UserBlockDto userBlock;
+
+        private Entry(UserBlockDto userBlock) {
+            this.userBlock = userBlock;
+        }
+
+        public UserBlockDto getUserBlock() {
+            return userBlock;
+        }
+    }
+
+    // 기본 TTL, 단 차단 해제 시각이 더 빠르면 그 시각에 만료
+    private class BlockExpiry implements Expiry<String, Entry> {
+
+        @Override
+        public long expireAfterCreate(String userId, Entry entry, long currentTime) {
+            UserBlockDto userBlock = entry.getUserBlock();
+            if (userBlock == null || userBlock.getUnblockedAt() == null) {
+                return ttlNanos;
+            }
+            try {
+                long untilUnblocked = Duration.between(LocalDateTime.now(), LocalDateTime.parse(userBlock.getUnblockedAt())).toNanos();
+                return Math.max(0L, Math.min(ttlNanos, untilUnblocked));
+            } catch (RuntimeException e) {
+                return ttlNanos;
+            }
+        }
+
+        @Override
+        public long expireAfterUpdate(String userId, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(userId, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String userId, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
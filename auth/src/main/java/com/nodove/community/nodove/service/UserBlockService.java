@@ -1,10 +1,9 @@
 package com.nodove.community.nodove.service;
 
-import com.nodove.community.nodove.domain.users.User;
 import com.nodove.community.nodove.domain.users.UserBlock;
+import com.nodove.community.nodove.dto.user.CachedUserDto;
 import com.nodove.community.nodove.dto.user.UserBlockDto;
 import com.nodove.community.nodove.repository.users.UserBlockRepository;
-import com.nodove.community.nodove.repository.users.UserRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,7 +16,9 @@ public class UserBlockService implements UserBlockServiceManager{
 
     private final RedisService redisService;
     private final UserBlockRepository userBlockRepository;
-    private final UserRepository userRepository;
+    private final UserCacheManager userCache;
+    private final UserBlockNearCache userBlockNearCache;
+    private final BlockedUserFilter blockedUserFilter;
 
     public void setBlockCaching(UserBlockDto userBlockDto) {
         redisService.setBlockCaching(userBlockDto);
@@ -26,26 +27,44 @@ public class UserBlockService implements UserBlockServiceManager{
     @Transactional
     @Override
     public UserBlockDto getBlockCaching(String userId) {
+        // 0. 차단 사용자 filter 에 없으면 조회 없이 "차단 없음"
+        if (!blockedUserFilter.mightBeBlocked(userId)) {
+            return null;
+        }
+
+        UserBlockDto userBlockDto = lookupBlock(userId);
+        if (userBlockDto == null || !userBlockDto.isBlocked()) {
+            blockedUserFilter.recordFalsePositive();
+        }
+        return userBlockDto;
+    }
+
+    private UserBlockDto lookupBlock(String userId) {
+        // 0-1. near cache 확인 (차단 없음 결과 포함)
+        UserBlockNearCache.Entry nearCached = userBlockNearCache.get(userId);
+        if (nearCached != null) {
+            return nearCached.getUserBlock();
+        }
+
         // 1. Redis 캐싱 확인
         UserBlockDto cachedBlock = redisService.getBlockCaching(userId);
         if (cachedBlock != null) {
+            userBlockNearCache.put(userId, cachedBlock);
             return cachedBlock;
         }
 
-        // 2. 데이터베이스 조회
-        User user = userRepository.findByUserId(userId).orElseThrow(() -> new RuntimeException("User not found for userId: " + userId));
-        if (user == null) {
-            throw new RuntimeException("User not found for userId: " + userId);
-        }
+        // 2. 데이터베이스 조회 (사용자 id 는 user cache 에서)
+        CachedUserDto user = userCache.findByUserId(userId).orElseThrow(() -> new RuntimeException("User not found for userId: " + userId));
 
-        UserBlock userBlock = userBlockRepository.findByUser(user);
+        UserBlock userBlock = userBlockRepository.findActiveBlockByUserId(user.getId()).orElse(null);
         if (userBlock == null) {
+            userBlockNearCache.put(userId, null);
             return null;
         }
 
         // 3. DTO 생성
         UserBlockDto userBlockDto = UserBlockDto.builder()
-                .user(userBlock.getUser().toString())
+                .user(userId)
                 .isBlocked(userBlock.checkIsBlocked())
                 .blockedAt(userBlock.getBlockedAt().toString())
                 .reason(userBlock.getReason())
@@ -56,6 +75,7 @@ public class UserBlockService implements UserBlockServiceManager{
 
         // 4. 캐싱 저장
         setBlockCaching(userBlockDto);
+        userBlockNearCache.put(userId, userBlockDto);
 
         return userBlockDto;
     }
@@ -0,0 +1,16 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.dto.user.CachedUserDto;
+
+import java.util.Optional;
+
+public interface UserCacheManager {
+
+    // near cache -> Redis -> DB 순으로 조회
+    Optional<CachedUserDto> findByUserId(String userId);
+
+    Optional<CachedUserDto> findByEmail(String email);
+
+    // 사용자 변경 후 호출 (모든 인스턴스의 near cache + Redis). 둘 중 하나는 null 이어도 된다.
+    void evict(String userId, String email);
+}
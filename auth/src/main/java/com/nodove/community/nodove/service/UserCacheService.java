@@ -0,0 +1,89 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.dto.user.CachedUserDto;
+import com.nodove.community.nodove.repository.users.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+// hot path (토큰 재발급, block 조회) 의 userRepository.findByUserId / findByEmail 앞단 2단 캐시.
+// 1단: UserNearCache (in-process), 2단: Redis (USER_CACHE:*), miss 시 DB 조회 후 양쪽에 채운다.
+// 존재하지 않는 사용자는 캐싱하지 않는다.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserCacheService implements UserCacheManager {
+
+    private final UserNearCache userNearCache;
+    private final RedisServiceManager redisService;
+    private final UserRepository userRepository;
+
+    @Override
+    public Optional<CachedUserDto> findByUserId(String userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        CachedUserDto cached = userNearCache.getByUserId(userId);
+        if (cached == null) {
+            cached = redisService.getCachedUserByUserId(userId);
+            if (cached == null) {
+                return userRepository.findByUserId(userId).map(this::fill);
+            }
+            userNearCache.put(cached);
+        }
+        return Optional.of(cached);
+    }
+
+    @Override
+    public Optional<CachedUserDto> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        CachedUserDto cached = userNearCache.getByEmail(email);
+        if (cached == null) {
+            cached = redisService.getCachedUserByEmail(email);
+            if (cached == null) {
+                return userRepository.findByEmail(email).map(this::fill);
+            }
+            userNearCache.put(cached);
+        }
+        return Optional.of(cached);
+    }
+
+    private CachedUserDto fill(User user) {
+        CachedUserDto cached = CachedUserDto.from(user);
+        redisService.setCachedUser(cached);
+        userNearCache.put(cached);
+        return cached;
+    }
+
+    // transaction 안에서 호출되면 commit 이후에 무효화한다. (commit 전에 지우면 다른 요청이 이전 값을 다시 채울 수 있음)
+    @Override
+    public void evict(String userId, String email) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId, email);
+                }
+            });
+            return;
+        }
+        evictNow(userId, email);
+    }
+
+    private void evictNow(String userId, String email) {
+        try {
+            redisService.evictCachedUser(userId, email);
+        } catch (RuntimeException e) {
+            // Redis entry 는 TTL 로 정리되므로 local 무효화는 계속 진행
+            log.error("Failed to evict user cache: userId={}, email={}, error={}", userId, email, e.getMessage());
+            userNearCache.invalidate(userId, email);
+        }
+    }
+}
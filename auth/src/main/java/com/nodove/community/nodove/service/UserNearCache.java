@@ -0,0 +1,94 @@
+package com.nodove.community.nodove.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.nodove.community.nodove.dto.user.CachedUserDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// UserCacheService 의 in-process 계층. 같은 CachedUserDto 를 userId / email 두 key 로 둔다.
+// 사용자 변경 시 Redis pub/sub 으로 모든 인스턴스에서 무효화된다. (message: "<userId>\n<email>")
+@Slf4j
+@Component
+public class UserNearCache {
+
+    public static final String INVALIDATION_CHANNEL = "USER_CACHE_INVALIDATION";
+
+    private static final String USER_ID_KEY = "id:";
+    private static final String EMAIL_KEY = "email:";
+
+    private final Cache<String, CachedUserDto> cache;
+
+    public UserNearCache(
+            @Value("${user.cache.near.ttl-seconds:60}") long ttlSeconds,
+            @Value("${user.cache.near.max-entries:100000}") long maxEntries
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    public CachedUserDto getByUserId(String userId) {
+        return cache.getIfPresent(USER_ID_KEY + userId);
+    }
+
+    // email 이 바뀐 사용자의 이전 email entry 는 miss 로 본다.
+    public CachedUserDto getByEmail(String email) {
+        CachedUserDto user = cache.getIfPresent(EMAIL_KEY + email);
+        return user != null && email.equals(user.getEmail()) ? user : null;
+    }
+
+    public void put(CachedUserDto user) {
+        cache.put(USER_ID_KEY + user.getUserId(), user);
+        cache.put(EMAIL_KEY + user.getEmail(), user);
+    }
+
+    // 둘 중 하나만 알아도 같은 entry 의 다른 key 까지 지운다.
+    public void invalidate(String userId, String email) {
+        log.debug("Invalidate user near cache: userId={}, email={}", userId, email);
+        CachedUserDto byUserId = userId == null ? null : cache.getIfPresent(USER_ID_KEY + userId);
+        CachedUserDto byEmail = email == null ? null : cache.getIfPresent(EMAIL_KEY + email);
+        invalidateKeys(userId, email);
+        if (byUserId != null) {
+            invalidateKeys(byUserId.getUserId(), byUserId.getEmail());
+        }
+        if (byEmail != null) {
+            invalidateKeys(byEmail.getUserId(), byEmail.getEmail());
+        }
+    }
+
+    private void invalidateKeys(String userId, String email) {
+        if (userId != null) {
+            cache.invalidate(USER_ID_KEY + userId);
+        }
+        if (email != null) {
+            cache.invalidate(EMAIL_KEY + email);
+        }
+    }
+
+    // pub/sub message ("<userId>\n<email>", 모르는 쪽은 빈 문자열)
+    public static String invalidationMessage(String userId, String email) {
+        return (userId == null ? "" : userId) + "\n" + (email == null ? "" : email);
+    }
+
+    public void onInvalidationMessage(String message) {
+        int separator = message.indexOf('\n');
+        String userId = separator < 0 ? message : message.substring(0, separator);
+        String email = separator < 0 ? "" : message.substring(separator + 1);
+        invalidate(userId.isEmpty() ? null : userId, email.isEmpty() ? null : email);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
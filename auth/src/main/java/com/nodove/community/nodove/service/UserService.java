@@ -1,26 +1,33 @@
 package com.nodove.community.nodove.service;
 
+import com.nodove.community.nodove.configuration.id.SnowflakeIdGenerator;
 import com.nodove.community.nodove.configuration.security.JWT.JwtUtilityManager;
+import com.nodove.community.nodove.configuration.security.PasswordHashingRejectedException;
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedClaims;
+import com.nodove.community.nodove.configuration.security.constructor.PrincipalDetails;
 import com.nodove.community.nodove.domain.security.Token;
 import com.nodove.community.nodove.domain.users.User;
-import com.nodove.community.nodove.domain.users.UserLoginHistory;
 import com.nodove.community.nodove.dto.response.ApiResponseDto;
+import com.nodove.community.nodove.dto.response.ResponseCode;
 import com.nodove.community.nodove.dto.response.ResponseStatusManager;
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
+import com.nodove.community.nodove.dto.security.RefreshTokenSessionDto;
 import com.nodove.community.nodove.dto.security.Redis_Refresh_Token;
 import com.nodove.community.nodove.dto.security.TokenDto;
-import com.nodove.community.nodove.dto.user.UserLoginRequest;
+import com.nodove.community.nodove.dto.user.UserLoginHistoryDto;
 import com.nodove.community.nodove.dto.user.UserRegisterDto;
-import com.nodove.community.nodove.repository.users.UserLoginHistoryRepository;
 import com.nodove.community.nodove.repository.users.UserRepository;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -28,12 +35,16 @@ import java.util.UUID;
 public class UserService implements UserServiceManager{
 
     private final UserRepository userRepository;
-    private final UserLoginHistoryRepository userLoginHistoryRepository;
+    private final LoginHistoryWriter loginHistoryWriter;
     private final RedisServiceManager redisService;
     private final JwtUtilityManager jwtUtility;
     private final SmtpServiceManager smtpService;
     private final PasswordEncoder passwordEncoder;
     private final ResponseStatusManager responseStatusManager;
+    private final TokenReissueCoalescer tokenReissueCoalescer;
+    private final UserCacheManager userCache;
+    private final RateLimiter rateLimiter;
+    private final SnowflakeIdGenerator idGenerator;
 
     private boolean isEmailExist(String email) {
         if (redisService.UserEmailExists(email)) {
@@ -46,17 +57,6 @@ public class UserService implements UserServiceManager{
         return false;
     }
 
-    private boolean isUserIdExist(String userId) {
-        if (redisService.UserIdExists(userId)) {
-            return true;
-        }
-        if (userRepository.findByUserId(userId).isPresent()) {
-            saveUserId(userId);
-            return true;
-        }
-        return false;
-    }
-
     private boolean isUserNickExist(String userNick) {
         if (redisService.UserNickExists(userNick)) {
             return true;
@@ -72,10 +72,6 @@ public class UserService implements UserServiceManager{
         redisService.saveUserNick(userNick);
     }
 
-    private void saveUserId(String userId) {
-        redisService.saveUserId(userId);
-    }
-
     private void saveUserEmail(String email) {
         redisService.saveUserEmail(email);
     }
@@ -95,105 +91,132 @@ public class UserService implements UserServiceManager{
         return userRepository.findByUserId(userId).orElseThrow(() -> new IllegalArgumentException("해당 사용자가 없습니다."));
     }
 
-    @Transactional
+    // 인증된 principal 을 그대로 사용 (findByEmail 재조회 없음), DB 기록은 LoginHistoryWriter 가 비동기로 수행
     @Override
-    public void saveLoginHistory(UserLoginRequest userLoginRequest, HttpServletRequest request) {
-        User user = userRepository.findByEmail(userLoginRequest.getEmail()).orElseThrow(() -> new IllegalArgumentException("해당 사용자가 없습니다."));
+    public void saveLoginHistory(PrincipalDetails principalDetails, HttpServletRequest request) {
         String ip = request.getRemoteAddr();
-        String userAgent = request.getHeader("User-Agent");
 
-        UserLoginHistory userLoginHistory = UserLoginHistory.builder()
-                .user(user)
+        UserLoginHistoryDto userLoginHistory = UserLoginHistoryDto.builder()
+                .userId(principalDetails.getUser().getId())
                 .loginTime(LocalDateTime.now())
                 .ipAddress(ip)
                 .device(UUID.randomUUID().toString())
                 .isSuccess(true)
                 .build();
 
-        userLoginHistoryRepository.save(userLoginHistory);
+        loginHistoryWriter.enqueue(userLoginHistory);
     }
 
     @Transactional
     @Override
     public ResponseEntity<?> registerUser(UserRegisterDto userRegisterDto) {
-        String userId = String.valueOf(System.currentTimeMillis());
-
+        // 중복 확인 / password hashing 전에 email 단위 가입 시도 한도 확인 (IP 단위는 RateLimitFilter)
+        long retryAfter = rateLimiter.tryAcquire(RateLimiter.Endpoint.REGISTER, RateLimiter.Dimension.ACCOUNT, userRegisterDto.getEmail());
+        if (retryAfter > 0) {
+            return ResponseEntity.status(429)
+                    .header("Retry-After", String.valueOf(retryAfter))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(responseStatusManager.body(ResponseCode.TOO_MANY_REQUESTS));
+        }
         if  (isEmailExist(userRegisterDto.getEmail())) {
             return ResponseEntity.badRequest().body("이미 존재하는 이메일입니다.");
         }
-        if (isUserIdExist(userId)) {
-            return ResponseEntity.badRequest().body("이미 존재하는 아이디입니다.");
-        }
         if (isUserNickExist(userRegisterDto.getUserNick())) {
             return ResponseEntity.badRequest().body("이미 존재하는 닉네임입니다.");
         }
 
+        // hashing executor 포화 시 대기하지 않고 503 으로 거절
+        String encodedPassword;
+        try {
+            encodedPassword = passwordEncoder.encode(userRegisterDto.getPassword());
+        } catch (PasswordHashingRejectedException e) {
+            return ResponseEntity.status(HttpServletResponse.SC_SERVICE_UNAVAILABLE)
+                    .header("Retry-After", "1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(responseStatusManager.body(ResponseCode.REGISTER_OVERLOADED));
+        }
+
+        // node 간 / 같은 ms 내에서도 충돌하지 않으므로 중복 확인 불필요
         User user = User.builder()
-                .userId(userId)
+                .userId(idGenerator.nextIdAsString())
                 .email(userRegisterDto.getEmail())
                 .userNick(userRegisterDto.getUserNick())
                 .username(userRegisterDto.getUsername() != null ? userRegisterDto.getUsername() : UUID.randomUUID().toString())
-                .password(passwordEncoder.encode(userRegisterDto.getPassword()))
+                .password(encodedPassword)
                 .isActive(false)
                 .build();
 
         userRepository.save(user);
         smtpService.sendJoinMail(userRegisterDto.getEmail());
 
-        return ResponseEntity.ok().body(ApiResponseDto.builder()
-                .code("CREATED_USER_EMAIL_SEND")
-                .message("이메일 인증을 완료해주세요.")
-                .status("success")
-                .build().toString());
+        return responseStatusManager.entity(ResponseCode.CREATED_USER_EMAIL_SEND);
     }
 
+    // Redis 작업은 rotation script 1회뿐이므로 @Transactional (MULTI) 로 감싸지 않는다.
     @Override
     public ResponseEntity<?> refreshAccessToken(HttpServletRequest request, HttpServletResponse response) {
         try {
 
             String refreshToken = jwtUtility.getRefreshToken(request);
-            if (refreshToken == null || jwtUtility.isTokenExpired(refreshToken, 1)) {
-                return ResponseEntity.status(HttpServletResponse.SC_UNAUTHORIZED).body(ApiResponseDto.builder()
-                        .code("TOKEN_EXPIRED")
-                        .message("리프레시 토큰이 만료되었습니다.")
-                        .status("error")
-                        .build().toString());
+            VerifiedClaims refreshClaims = refreshToken == null ? null : jwtUtility.verifyToken(refreshToken, 1);
+            if (refreshClaims == null || refreshClaims.isExpired()) {
+                return responseStatusManager.entity(ResponseCode.TOKEN_EXPIRED);
             }
-            String userId = jwtUtility.parseToken(refreshToken, 1).get("userId").toString();
-            String token = jwtUtility.generateReissuedAccessToken(userId);
             String deviceId = request.getHeader(Token.DEVICE_ID_HEADER.getHeaderName());
 
-            Redis_Refresh_Token newRedis_refresh = Redis_Refresh_Token.builder()
-                    .userId(userId)
-                    .provider("LOCAL")
-                    .deviceId(deviceId)
-                    .build();
-            redisService.saveRefreshToken(newRedis_refresh, token);
+            RefreshTokenRotationResult rotation = reissueTokens(refreshToken, refreshClaims, deviceId);
+            if (!rotation.isIssued()) {
+                return responseStatusManager.entity(rotation.getStatus() == RefreshTokenRotationResult.Status.REUSED
+                        ? ResponseCode.TOKEN_REUSED : ResponseCode.TOKEN_INVALID);
+            }
 
             TokenDto reissuedToken = TokenDto.builder()
-                    .accessToken(token)
-                    .refreshToken(refreshToken)
+                    .accessToken(rotation.getAccessToken())
+                    .refreshToken(rotation.getRefreshToken())
                     .build();
 
-            jwtUtility.loginResponse(response, reissuedToken, deviceId);
-            return ResponseEntity.ok().body(ApiResponseDto.builder()
-                    .code("TOKEN_REISSUED")
-                    .message("토큰이 재발급되었습니다.")
-                    .status("success")
-                    .build().toString());
+            // body 는 ResponseEntity 가 쓰므로 header / cookie 만 설정
+            jwtUtility.addTokenHeaders(response, reissuedToken, deviceId);
+            return responseStatusManager.entity(ResponseCode.TOKEN_REISSUED);
 
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(ApiResponseDto.builder()
-                    .code("TOKEN_EXPIRED")
-                    .message("토큰이 만료되었습니다.")
-                    .status("error")
-                    .build().toString());
+            return responseStatusManager.entity(ResponseCode.TOKEN_REFRESH_FAILED);
         }
     }
 
+    // refresh token rotation + access token 재발급
+    // access token 의 role / email 은 만료된 access token 이 아니라 현재 사용자 정보 (user cache) 로 채운다. (권한 / email 변경 즉시 반영)
+    // 같은 refresh token 으로 동시에 들어온 요청은 TokenReissueCoalescer 가 한 번의 계산으로 합친다.
+    @Override
+    public RefreshTokenRotationResult reissueTokens(String presentedRefreshToken, VerifiedClaims refreshClaims, String deviceId) {
+        return tokenReissueCoalescer.reissue(presentedRefreshToken, deviceId,
+                () -> rotateAndIssue(presentedRefreshToken, refreshClaims, deviceId));
+    }
+
+    private RefreshTokenRotationResult rotateAndIssue(String presentedRefreshToken, VerifiedClaims refreshClaims, String deviceId) {
+        String userId = refreshClaims.getUserId();
+        String newRefreshToken = jwtUtility.generateRefreshToken(userId, refreshClaims.getExpiresAt());
+
+        RefreshTokenRotationResult rotation = redisService.rotateRefreshToken(Redis_Refresh_Token.builder()
+                .provider("LOCAL")
+                .userId(userId)
+                .deviceId(deviceId)
+                .build(), presentedRefreshToken, newRefreshToken);
+        if (!rotation.isIssued()) {
+            return rotation;
+        }
+
+        return rotation.toBuilder().accessToken(jwtUtility.generateReissuedAccessToken(userId)).build();
+    }
+
     @Override
     public boolean updateEmailValidation(String email) {
-        return userRepository.updateEmailValidation(email);
+        // bulk update 는 entity listener 를 거치지 않으므로 직접 무효화
+        boolean updated = userRepository.updateEmailValidation(email);
+        if (updated) {
+            userCache.evict(null, email);
+        }
+        return updated;
     }
 
     @Override
@@ -201,18 +224,67 @@ public class UserService implements UserServiceManager{
         smtpService.sendJoinMail(email);
     }
 
+    // 현재 device 의 session 만 삭제하거나 (allDevices=false), 사용자 session hash 전체를 삭제한다.
+    // 서명만 맞는 이전 / 탈취된 token 으로 session 을 지우지 못하도록, 제시된 token 이 Device-Id 의 session token 이어야 한다.
+    //  - 모든 device : 만료되지 않은 현재 token
+    //  - 현재 device : 현재 token (만료 허용) 또는 재사용 허용 구간 안의 직전 token
     @Override
-    public ResponseEntity<?> logoutUser(HttpServletRequest request, HttpServletResponse response) {
-/*
+    public ResponseEntity<?> logoutUser(HttpServletRequest request, HttpServletResponse response, boolean allDevices) {
         try {
-            String token = jwtUtility.getRefreshToken(request);
-            String deviceId = request.getHeader(Token.DEVICE_ID_HEADER.getHeaderName());
-            String provider = jwtUtility.parseToken(token, 1).get("provider").toString();
-            redisService.deleteRefreshToken(token, deviceId);
+            VerifiedClaims refreshClaims = verifyRefreshTokenSignature(request);
+            if (refreshClaims == null) {
+                return responseStatusManager.entity(ResponseCode.LOGOUT_FAILED);
+            }
+            String userId = refreshClaims.getUserId();
+            Redis_Refresh_Token session = Redis_Refresh_Token.builder()
+                    .provider("LOCAL")
+                    .userId(userId)
+                    .deviceId(request.getHeader(Token.DEVICE_ID_HEADER.getHeaderName()))
+                    .build();
+            String presentedToken = jwtUtility.getRefreshToken(request);
+            if (allDevices) {
+                if (refreshClaims.isExpired() || !redisService.matchesRefreshToken(session, presentedToken, false)) {
+                    return responseStatusManager.entity(ResponseCode.LOGOUT_FAILED);
+                }
+                redisService.deleteAllRefreshTokens("LOCAL", userId);
+            } else {
+                if (!redisService.matchesRefreshToken(session, presentedToken, true)) {
+                    return responseStatusManager.entity(ResponseCode.LOGOUT_FAILED);
+                }
+                redisService.deleteRefreshToken(session);
+            }
+            jwtUtility.clearRefreshTokenCookie(response);
+        } catch (Exception e) {
+            return responseStatusManager.entity(ResponseCode.LOGOUT_FAILED);
+        }
+        return responseStatusManager.entity(ResponseCode.LOGOUT_SUCCESS);
+    }
+
+    @Override
+    public ResponseEntity<?> getLoginSessions(HttpServletRequest request, HttpServletResponse response) {
+        VerifiedClaims refreshClaims = verifyRefreshTokenSignature(request);
+        if (refreshClaims == null || refreshClaims.isExpired()) {
+            return responseStatusManager.entity(ResponseCode.TOKEN_EXPIRED);
+        }
+        List<RefreshTokenSessionDto> sessions = redisService.getRefreshSessions("LOCAL", refreshClaims.getUserId());
+        return ResponseEntity.ok().body(ApiResponseDto.<List<RefreshTokenSessionDto>>builder()
+                .code("LOGIN_SESSIONS")
+                .message("로그인 중인 기기 목록입니다.")
+                .status("success")
+                .data(sessions)
+                .build());
+    }
+
+    // 로그아웃은 만료된 refresh token 으로도 가능해야 하므로 서명만 검증한다.
+    private VerifiedClaims verifyRefreshTokenSignature(HttpServletRequest request) {
+        String refreshToken = jwtUtility.getRefreshToken(request);
+        if (refreshToken == null) {
+            return null;
+        }
+        try {
+            return jwtUtility.verifyToken(refreshToken, 1);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(responseStatusManager.error(response, "error", "LOGOUT_FAILED", "로그아웃에 실패했습니다."));
+            return null;
         }
-*/
-        return ResponseEntity.ok().body(responseStatusManager.success(response, "success", "LOGOUT_SUCCESS", "로그아웃에 성공했습니다."));
     }
 }
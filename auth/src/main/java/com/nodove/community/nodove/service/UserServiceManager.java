@@ -1,7 +1,9 @@
 package com.nodove.community.nodove.service;
 
+import com.nodove.community.nodove.configuration.security.JWT.VerifiedClaims;
+import com.nodove.community.nodove.configuration.security.constructor.PrincipalDetails;
 import com.nodove.community.nodove.domain.users.User;
-import com.nodove.community.nodove.dto.user.UserLoginRequest;
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
 import com.nodove.community.nodove.dto.user.UserRegisterDto;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,18 +15,20 @@ public interface UserServiceManager {
     @Transactional
     public User findByUserId(String userId);
 
-    @Transactional
-    public void saveLoginHistory(UserLoginRequest userLoginRequest, HttpServletRequest request);
+    public void saveLoginHistory(PrincipalDetails principalDetails, HttpServletRequest request);
 
     @Transactional
     public ResponseEntity<?> registerUser(UserRegisterDto userRegisterDto);
 
-    @Transactional
     public ResponseEntity<?> refreshAccessToken(HttpServletRequest request, HttpServletResponse response);
 
+    RefreshTokenRotationResult reissueTokens(String presentedRefreshToken, VerifiedClaims refreshClaims, String deviceId);
+
     boolean updateEmailValidation(String email);
 
     void resendJoinEmail(String email);
 
-    ResponseEntity<?> logoutUser(HttpServletRequest request, HttpServletResponse response);
+    ResponseEntity<?> logoutUser(HttpServletRequest request, HttpServletResponse response, boolean allDevices);
+
+    ResponseEntity<?> getLoginSessions(HttpServletRequest request, HttpServletResponse response);
 }
@@ -0,0 +1,16 @@
+-- 재시도 시각이 지난 메일을 stream 으로 되돌린다. (MailOutbox.promoteDueRetries)
+-- 조회 / XADD / ZREM 을 한 번에 실행하므로 여러 worker 가 동시에 호출해도 한 번만 옮겨지고, 중간에 끊겨 유실되지 않는다.
+-- KEYS[1] : MAIL_OUTBOX_RETRY (ZSET, score = 재시도 시각)
+-- KEYS[2] : MAIL_OUTBOX (stream)
+-- ARGV[1] : 현재 시각 (epoch millis)
+-- ARGV[2] : 한 번에 옮길 최대 건수
+-- ARGV[3] : payload field 이름
+--
+-- return 옮긴 건수
+
+local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+for _, payload in ipairs(due) do
+    redis.call('XADD', KEYS[2], '*', ARGV[3], payload)
+    redis.call('ZREM', KEYS[1], payload)
+end
+return #due
@@ -0,0 +1,51 @@
+-- refresh token rotation (RedisService.rotateRefreshToken)
+-- KEYS[1] : REFRESH_SESSIONS:<provider>:<userId>
+-- ARGV[1] : deviceId
+-- ARGV[2] : 제시된 refresh token
+-- ARGV[3] : 새 refresh token
+-- ARGV[4] : 현재 시각 (epoch millis)
+-- ARGV[5] : 재사용 허용 구간 (millis), 동시 refresh 요청이 같은 이전 token 을 제시한 경우
+--
+-- return {status, refresh token}
+--   ROTATED : 현재 token 과 일치 -> 새 token 저장, 이전 token 은 <deviceId>:prev 로 보관
+--   GRACE   : 직전 token 이 허용 구간 내에 다시 제시됨 -> 이미 발급된 현재 token 을 돌려준다
+--   REUSED  : 직전 token 이 허용 구간 이후에 다시 제시됨 -> 탈취로 보고 device session 폐기
+--   EXPIRED : session 만료 -> 폐기
+--   INVALID : 일치하는 token 없음
+--   MISSING : device session 없음
+
+local key = KEYS[1]
+local device = ARGV[1]
+local presented = ARGV[2]
+local now = tonumber(ARGV[4])
+
+local expField = device .. ':exp'
+local prevField = device .. ':prev'
+local rotatedField = device .. ':rotated'
+
+local values = redis.call('HMGET', key, device, expField, prevField, rotatedField)
+local current, exp, prev, rotated = values[1], values[2], values[3], values[4]
+
+if not current then
+    return {'MISSING', ''}
+end
+
+if exp and tonumber(exp) <= now then
+    redis.call('HDEL', key, device, expField, prevField, rotatedField)
+    return {'EXPIRED', ''}
+end
+
+if current == presented then
+    redis.call('HSET', key, device, ARGV[3], prevField, current, rotatedField, ARGV[4])
+    return {'ROTATED', ARGV[3]}
+end
+
+if prev and prev == presented then
+    if rotated and now - tonumber(rotated) <= tonumber(ARGV[5]) then
+        return {'GRACE', current}
+    end
+    redis.call('HDEL', key, device, expField, prevField, rotatedField)
+    return {'REUSED', ''}
+end
+
+return {'INVALID', ''}
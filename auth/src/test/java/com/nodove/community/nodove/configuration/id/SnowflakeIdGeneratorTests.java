@@ -0,0 +1,102 @@
+package com.nodove.community.nodove.configuration.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTests {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    @Test
+    void idsIncreaseWithinAndAcrossMillis() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7, 50, clock::get);
+
+        long previous = generator.nextId();
+        // 4096 개를 넘기면 다음 ms 를 미리 사용한다.
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(SnowflakeIdGenerator.nodeIdOf(id)).isEqualTo(7);
+            previous = id;
+        }
+        assertThat(SnowflakeIdGenerator.timestampOf(previous)).isEqualTo(NOW + 1);
+
+        clock.addAndGet(10);
+        long id = generator.nextId();
+        assertThat(id).isGreaterThan(previous);
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(NOW + 10);
+    }
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 50, System::currentTimeMillis);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        ids.add(generator.nextId());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(ids).hasSize(80_000);
+    }
+
+    @Test
+    void continuesFromLastTimestampWhenClockStepsBackSlightly() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, 50, clock::get);
+        long before = generator.nextId();
+
+        clock.addAndGet(-30);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampOf(after)).isEqualTo(NOW);
+    }
+
+    @Test
+    void refusesIdsWhenClockStepsBackTooFarUntilItCatchesUp() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(0, 50, clock::get);
+        long before = generator.nextId();
+
+        clock.addAndGet(-51);
+        assertThatThrownBy(generator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("51ms");
+
+        clock.set(NOW + 1);
+        assertThat(generator.nextId()).isGreaterThan(before);
+    }
+
+    @Test
+    void requiresNodeIdWhenMoreThanOneInstanceRuns() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(null, 3, 50))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("id.snowflake.node-id");
+        assertThat(SnowflakeIdGenerator.nodeIdOf(new SnowflakeIdGenerator(null, 1, 50).nextId())).isZero();
+        assertThat(SnowflakeIdGenerator.nodeIdOf(new SnowflakeIdGenerator(5L, 3, 50).nextId())).isEqualTo(5);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024L, 3, 50))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
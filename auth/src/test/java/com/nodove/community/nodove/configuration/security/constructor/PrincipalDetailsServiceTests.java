@@ -0,0 +1,117 @@
+package com.nodove.community.nodove.configuration.security.constructor;
+
+import com.nodove.community.nodove.configuration.id.SnowflakeIdGenerator;
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
+import com.nodove.community.nodove.domain.users.User;
+import com.nodove.community.nodove.domain.users.UserBlock;
+import com.nodove.community.nodove.repository.users.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 로그인 시 principal 조회는 SQL 한 번 (User + 현재 UserBlock left join)
+// H2 (MariaDB mode) 로 JPA 만 기동한다. application.properties 의 외부 설정 import (secret 파일) 는 읽지 않는다.
+@DataJpaTest(properties = {
+        "spring.config.name=principal-details-tests",
+        "spring.datasource.url=jdbc:h2:mem:principal;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SnowflakeIdGenerator.class)
+class PrincipalDetailsServiceTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+
+    private PrincipalDetailsService principalDetailsService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        principalDetailsService = new PrincipalDetailsService(userRepository, new AuthMetrics(new SimpleMeterRegistry()));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void loadsActiveUserWithOneStatement() {
+        persistUser("active@test.local");
+
+        PrincipalDetails principal = (PrincipalDetails) load("active@test.local");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(principal.getEmail()).isEqualTo("active@test.local");
+        assertThat(principal.getUserBlock()).isNull();
+        assertThat(principal.isAccountNonLocked()).isTrue();
+    }
+
+    @Test
+    void loadsLatestActiveBlockInTheSameStatement() {
+        User user = persistUser("blocked@test.local");
+        LocalDateTime now = LocalDateTime.now();
+        persistBlock(user, "lifted", now.minusDays(10), now.minusDays(5));
+        persistBlock(user, "older", now.minusDays(2), now.plusDays(1));
+        persistBlock(user, "latest", now.minusDays(1), now.plusDays(3));
+
+        PrincipalDetails principal = (PrincipalDetails) load("blocked@test.local");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(principal.isAccountNonLocked()).isFalse();
+        assertThat(principal.getUserBlock().getReason()).isEqualTo("latest");
+    }
+
+    @Test
+    void unknownEmailIsRejectedAfterOneStatement() {
+        assertThatThrownBy(() -> load("missing@test.local")).isInstanceOf(UsernameNotFoundException.class);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    // 영속성 context 를 비우고 통계를 초기화한 뒤 조회
+    private UserDetails load(String email) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        return principalDetailsService.loadUserByUsername(email);
+    }
+
+    private User persistUser(String email) {
+        return entityManager.persist(User.builder()
+                .userId(email)
+                .email(email)
+                .password("{noop}password")
+                .userNick(email)
+                .isActive(true)
+                .build());
+    }
+
+    private void persistBlock(User user, String reason, LocalDateTime blockedAt, LocalDateTime unblockedAt) {
+        entityManager.persist(UserBlock.builder()
+                .user(user)
+                .reason(reason)
+                .blockedAt(blockedAt)
+                .unblockedAt(unblockedAt)
+                .build());
+    }
+}
@@ -0,0 +1,128 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.configuration.redis.RedisConfig;
+import com.nodove.community.nodove.dto.user.UserBlockDto;
+import com.nodove.community.nodove.repository.users.UserBlockRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BlockedUserFilterTests {
+
+    @Test
+    void blockOnOneInstanceIsAddedToOtherInstancesFilter() {
+        BlockedUserFilter filterA = readyFilter(List.of());
+        BlockedUserFilter filterB = readyFilter(List.of());
+        UserBlockNearCache nearCacheB = new UserBlockNearCache(60, 1000);
+        nearCacheB.put("user-1", null);  // B 는 "차단 없음" 을 cache 해 둔 상태
+        MessageListener listenerB = RedisConfig.blockInvalidationListener(filterB, nearCacheB);
+
+        // A 에서 차단 (RedisService.setBlockCaching 과 같은 순서: filter 추가 -> publish)
+        filterA.add("user-1");
+        listenerB.onMessage(message(UserBlockNearCache.invalidationMessage("user-1", true)), null);
+
+        assertThat(filterA.mightBeBlocked("user-1")).isTrue();
+        assertThat(filterB.mightBeBlocked("user-1")).isTrue();
+        assertThat(nearCacheB.get("user-1")).isNull();
+    }
+
+    @Test
+    void unblockMessageOnlyInvalidatesNearCache() {
+        BlockedUserFilter filter = readyFilter(List.of());
+        UserBlockNearCache nearCache = new UserBlockNearCache(60, 1000);
+        nearCache.put("user-1", UserBlockDto.builder().user("user-1").isBlocked(true).build());
+        MessageListener listener = RedisConfig.blockInvalidationListener(filter, nearCache);
+
+        listener.onMessage(message(UserBlockNearCache.invalidationMessage("user-1", false)), null);
+
+        assertThat(nearCache.get("user-1")).isNull();
+        assertThat(filter.mightBeBlocked("user-1")).isFalse();
+        assertThat(filter.approximateElementCount()).isZero();
+    }
+
+    @Test
+    void answersBlockedUntilLoaded() {
+        BlockedUserFilter filter = new BlockedUserFilter(repository(List.of()), 1000, 0.01);
+
+        assertThat(filter.mightBeBlocked("user-1")).isTrue();
+    }
+
+    @Test
+    void reconcileDropsUnblockedUsers() {
+        UserBlockRepository repository = mock(UserBlockRepository.class);
+        when(repository.findActiveBlockedUserIds(any())).thenReturn(List.of("user-1", "user-2")).thenReturn(List.of("user-2"));
+        BlockedUserFilter filter = new BlockedUserFilter(repository, 1000, 0.01);
+
+        filter.reconcile();
+        assertThat(filter.mightBeBlocked("user-1")).isTrue();
+
+        filter.reconcile();
+        assertThat(filter.mightBeBlocked("user-1")).isFalse();
+        assertThat(filter.mightBeBlocked("user-2")).isTrue();
+    }
+
+    @Test
+    void keepsBlocksAddedWhileReconciling() {
+        UserBlockRepository repository = mock(UserBlockRepository.class);
+        BlockedUserFilter filter = new BlockedUserFilter(repository, 1000, 0.01);
+        // 조회가 끝난 뒤 (새 filter 교체 전) 다른 요청이 차단을 추가
+        when(repository.findActiveBlockedUserIds(any())).thenAnswer(invocation -> {
+            filter.add("late-user");
+            return List.of("user-1");
+        });
+
+        filter.reconcile();
+
+        assertThat(filter.mightBeBlocked("late-user")).isTrue();
+        assertThat(filter.mightBeBlocked("user-1")).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        List<String> blocked = IntStream.range(0, 1000).mapToObj(i -> "blocked-" + i).toList();
+        BlockedUserFilter filter = readyFilter(blocked, 1000, 0.01);
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .mapToObj(i -> "other-" + i)
+                .filter(filter::mightBeBlocked)
+                .peek(userId -> filter.recordFalsePositive())
+                .count();
+
+        assertThat(blocked).allMatch(filter::mightBeBlocked);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+        // mightBeBlocked == true 응답 101000 건 중 false positive 비율
+        assertThat(filter.observedFalsePositiveRate()).isEqualTo((double) falsePositives / (falsePositives + blocked.size()));
+    }
+
+    private static BlockedUserFilter readyFilter(List<String> blockedUserIds) {
+        return readyFilter(blockedUserIds, 1000, 0.01);
+    }
+
+    private static BlockedUserFilter readyFilter(List<String> blockedUserIds, long expectedInsertions, double fpp) {
+        BlockedUserFilter filter = new BlockedUserFilter(repository(blockedUserIds), expectedInsertions, fpp);
+        filter.reconcile();
+        return filter;
+    }
+
+    private static UserBlockRepository repository(List<String> blockedUserIds) {
+        UserBlockRepository repository = mock(UserBlockRepository.class);
+        when(repository.findActiveBlockedUserIds(any())).thenReturn(blockedUserIds);
+        return repository;
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(
+                UserBlockNearCache.INVALIDATION_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,212 @@
+package com.nodove.community.nodove.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.nodove.community.nodove.configuration.metrics.AuthMetrics;
+import com.nodove.community.nodove.dto.mail.MailMessageDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Redis stream 은 mock, SMTP 는 in-process stand-in (GreenMail) 으로 worker loop 전체를 실행한다.
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class MailOutboxWorkerTests {
+
+    private static final String GROUP = "mail-workers";
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+    @Mock
+    private StreamOperations<String, Object, Object> streamOperations;
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // XREADGROUP 결과 (없으면 block 대신 잠깐 대기 후 빈 결과)
+    private final BlockingQueue<List<MapRecord<String, Object, Object>>> incoming = new LinkedBlockingQueue<>();
+    private MailOutbox mailOutbox;
+    private MailOutboxWorker worker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked") // StreamOffset varargs matcher
+    void setUp() {
+        when(redisTemplate.<Object, Object>opsForStream()).thenReturn(streamOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(streamOperations.read(any(Consumer.class), any(StreamReadOptions.class), ArgumentMatchers.<StreamOffset<String>>any()))
+                .thenAnswer(invocation -> {
+                    List<MapRecord<String, Object, Object>> records = incoming.poll(20, TimeUnit.MILLISECONDS);
+                    return records == null ? List.of() : records;
+                });
+        mailOutbox = new MailOutbox(redisTemplate, objectMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (worker != null) {
+            worker.stop();
+        }
+    }
+
+    @Test
+    void sendsQueuedMailsThroughSmtpStandIn() throws Exception {
+        startWorker(smtpPort());
+        incoming.add(List.of(
+                record("1-0", mail("a@test.local", "first")),
+                record("2-0", mail("b@test.local", "second")),
+                record("3-0", mail("c@test.local", "third"))));
+
+        assertThat(smtp.waitForIncomingEmail(5000, 3)).isTrue();
+        assertThat(List.of(smtp.getReceivedMessages())).extracting(MimeMessage::getSubject)
+                .containsExactly("first", "second", "third");
+        verify(streamOperations, timeout(5000)).acknowledge(MailOutbox.STREAM_KEY, GROUP, RecordId.of("3-0"));
+        verify(streamOperations, timeout(5000)).delete(MailOutbox.STREAM_KEY, RecordId.of("3-0"));
+        assertThat(worker.sentCount()).isEqualTo(3);
+    }
+
+    @Test
+    void schedulesRetryWithBackoffWhenSmtpIsUnavailable() throws Exception {
+        startWorker(closedPort());
+        long enqueuedAt = System.currentTimeMillis();
+        incoming.add(List.of(record("1-0", mail("a@test.local", "retry me"))));
+
+        verify(zSetOperations, timeout(5000)).add(eq(MailOutbox.RETRY_KEY),
+                argThat(payload -> payload.contains("\"attempt\":1")),
+                doubleThat(retryAt -> retryAt >= enqueuedAt + 1000 && retryAt <= System.currentTimeMillis() + 1200));
+        verify(streamOperations, timeout(5000)).acknowledge(MailOutbox.STREAM_KEY, GROUP, RecordId.of("1-0"));
+        assertThat(worker.retriedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deadLettersRecordsThatCannotBeDeserialized() throws Exception {
+        startWorker(smtpPort());
+        incoming.add(List.of(MapRecord.<String, Object, Object>create(MailOutbox.STREAM_KEY, Map.of(MailOutbox.PAYLOAD_FIELD, "not-json"))
+                .withId(RecordId.of("1-0"))));
+
+        verify(streamOperations, timeout(5000)).add(ArgumentMatchers.<MapRecord<String, String, String>>argThat(record ->
+                MailOutbox.DEAD_LETTER_KEY.equals(record.getStream())
+                        && "not-json".equals(record.getValue().get(MailOutbox.PAYLOAD_FIELD))
+                        && record.getValue().containsKey(MailOutbox.ERROR_FIELD)));
+        verify(streamOperations, timeout(5000)).acknowledge(MailOutbox.STREAM_KEY, GROUP, RecordId.of("1-0"));
+        assertThat(worker.deadLetterCount()).isEqualTo(1);
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void claimsMailsLeftPendingByAnotherConsumer() throws Exception {
+        pending("dead-host-0", 1);
+        when(streamOperations.claim(eq(MailOutbox.STREAM_KEY), eq(GROUP), anyString(), any(Duration.class), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0", mail("a@test.local", "orphaned"))));
+        startWorker(smtpPort());
+
+        assertThat(smtp.waitForIncomingEmail(5000, 1)).isTrue();
+        assertThat(smtp.getReceivedMessages()[0].getSubject()).isEqualTo("orphaned");
+        verify(streamOperations).claim(eq(MailOutbox.STREAM_KEY), eq(GROUP), argThat(owner -> !owner.equals("dead-host-0")),
+                eq(Duration.ofMillis(1000)), eq(RecordId.of("1-0")));
+        verify(streamOperations, timeout(5000)).acknowledge(MailOutbox.STREAM_KEY, GROUP, RecordId.of("1-0"));
+        assertThat(worker.claimedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void deadLettersRecordsDeliveredTooOften() throws Exception {
+        pending("dead-host-0", 3);
+        when(streamOperations.claim(eq(MailOutbox.STREAM_KEY), eq(GROUP), anyString(), any(Duration.class), any(RecordId[].class)))
+                .thenReturn(List.of(record("1-0", mail("a@test.local", "poison"))));
+        startWorker(smtpPort());
+
+        verify(streamOperations, timeout(5000)).acknowledge(MailOutbox.STREAM_KEY, GROUP, RecordId.of("1-0"));
+        assertThat(worker.deadLetterCount()).isEqualTo(1);
+        assertThat(smtp.getReceivedMessages()).isEmpty();
+        verify(zSetOperations, never()).add(anyString(), anyString(), anyDouble());
+    }
+
+    private void startWorker(int smtpPort) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtpPort);
+        Properties properties = new Properties();
+        properties.put("mail.transport.protocol", "smtp");
+        properties.put("mail.smtp.connectiontimeout", "1000");
+        mailSender.setJavaMailProperties(properties);
+
+        worker = new MailOutboxWorker(redisTemplate, mailOutbox, mailSender, new AuthMetrics(new SimpleMeterRegistry()),
+                1, 20, 3, 1000, 10_000, 1000, 0, 3);
+        worker.start();
+    }
+
+    private void pending(String consumerName, long deliveries) {
+        when(streamOperations.pending(eq(MailOutbox.STREAM_KEY), eq(GROUP), any(Range.class), anyLong()))
+                .thenReturn(new PendingMessages(GROUP, List.of(new PendingMessage(
+                        RecordId.of("1-0"), Consumer.from(GROUP, consumerName), Duration.ofMinutes(10), deliveries))))
+                .thenReturn(new PendingMessages(GROUP, List.of()));
+    }
+
+    private MapRecord<String, Object, Object> record(String id, MailMessageDto mailMessage) throws Exception {
+        return MapRecord.<String, Object, Object>create(MailOutbox.STREAM_KEY,
+                        Map.of(MailOutbox.PAYLOAD_FIELD, objectMapper.writeValueAsString(mailMessage)))
+                .withId(RecordId.of(id));
+    }
+
+    private static MailMessageDto mail(String to, String title) {
+        return MailMessageDto.builder().id(title).to(to).title(title).content("<p>" + title + "</p>").attempt(0).build();
+    }
+
+    private static int smtpPort() {
+        return smtp.getSmtp().getPort();
+    }
+
+    // 아무도 listen 하지 않는 port (SMTP 장애)
+    private static int closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
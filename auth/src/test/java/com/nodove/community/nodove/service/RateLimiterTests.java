@@ -0,0 +1,124 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.dto.security.RateLimitIncrement;
+import com.nodove.community.nodove.service.RateLimiter.Dimension;
+import com.nodove.community.nodove.service.RateLimiter.Endpoint;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// login ip 3/60 (20 초마다 1 개 refill), login account 한도 없음
+class RateLimiterTests {
+
+    private static final long WINDOW = 60_000L;
+    // 고정 window 의 중간 시각
+    private static final long START = 1_000 * WINDOW + 30_000L;
+
+    private final AtomicLong clock = new AtomicLong(START);
+    private final RedisServiceManager redisService = mock(RedisServiceManager.class);
+    private final RateLimiter rateLimiter = new RateLimiter(redisService, true, 1000,
+            "3/60", "0/60", "10/3600", "3/3600", "10/3600", "3/600", clock::get);
+
+    @Test
+    void allowsTheLimitThenReportsTimeUntilTheNextToken() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(acquire("10.0.0.1")).isZero();
+        }
+        assertThat(acquire("10.0.0.1")).isEqualTo(20);
+        // 다른 key 는 별도 bucket
+        assertThat(acquire("10.0.0.2")).isZero();
+    }
+
+    @Test
+    void refillsOneTokenExactlyAtTheSliceBoundary() {
+        for (int i = 0; i < 3; i++) {
+            acquire("10.0.0.1");
+        }
+
+        clock.addAndGet(19_999);
+        assertThat(acquire("10.0.0.1")).isEqualTo(1);
+
+        clock.addAndGet(1);
+        assertThat(acquire("10.0.0.1")).isZero();
+        assertThat(acquire("10.0.0.1")).isEqualTo(20);
+    }
+
+    @Test
+    void idleTimeNeverRefillsBeyondTheLimit() {
+        acquire("10.0.0.1");
+        clock.addAndGet(10 * WINDOW);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(acquire("10.0.0.1")).isZero();
+        }
+        assertThat(acquire("10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void clusterTotalDeniesUntilTheFixedWindowEnds() {
+        assertThat(acquire("10.0.0.1")).isZero();
+        // 다른 node 에서 허용한 것까지 합쳐 한도에 도달
+        when(redisService.incrementRateLimitCounters(anyList())).thenReturn(List.of(3L));
+        rateLimiter.reconcile();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<RateLimitIncrement>> increments = ArgumentCaptor.forClass(List.class);
+        verify(redisService).incrementRateLimitCounters(increments.capture());
+        RateLimitIncrement increment = increments.getValue().get(0);
+        assertThat(increment.getKey()).isEqualTo(RateLimiter.RATE_LIMIT_PREFIX + "login:ip:10.0.0.1:" + START / WINDOW);
+        assertThat(increment.getDelta()).isEqualTo(1);
+        assertThat(increment.getTtlMillis()).isEqualTo(WINDOW);
+
+        long windowEnd = (START / WINDOW + 1) * WINDOW;
+        assertThat(acquire("10.0.0.1")).isEqualTo(30);
+        clock.set(windowEnd - 1);
+        assertThat(acquire("10.0.0.1")).isEqualTo(1);
+        clock.set(windowEnd);
+        assertThat(acquire("10.0.0.1")).isZero();
+    }
+
+    @Test
+    void reconcileFailureKeepsLocalLimitsOnly() {
+        acquire("10.0.0.1");
+        when(redisService.incrementRateLimitCounters(anyList())).thenThrow(new IllegalStateException("redis down"));
+
+        rateLimiter.reconcile();
+
+        assertThat(acquire("10.0.0.1")).isZero();
+    }
+
+    @Test
+    void accountKeysAreNormalizedAndUnlimitedRulesAreSkipped() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(rateLimiter.tryAcquire(Endpoint.REGISTER, Dimension.ACCOUNT, i % 2 == 0 ? "User@Test.local " : "user@test.local")).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(Endpoint.REGISTER, Dimension.ACCOUNT, "USER@test.local")).isPositive();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(rateLimiter.tryAcquire(Endpoint.LOGIN, Dimension.ACCOUNT, "user@test.local")).isZero();
+        }
+    }
+
+    @Test
+    void rejectsMalformedRules() {
+        assertThatThrownBy(() -> new RateLimiter(redisService, true, 1000,
+                "3", "0/60", "10/3600", "3/3600", "10/3600", "3/600", clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RateLimiter(redisService, true, 1000,
+                "3/0", "0/60", "10/3600", "3/3600", "10/3600", "3/600", clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private long acquire(String ip) {
+        return rateLimiter.tryAcquire(Endpoint.LOGIN, Dimension.IP, ip);
+    }
+}
@@ -0,0 +1,153 @@
+package com.nodove.community.nodove.service;
+
+import com.nodove.community.nodove.dto.security.RefreshTokenRotationResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenReissueCoalescerTests {
+
+    private static final String TOKEN = "refresh-token";
+    private static final String DEVICE = "device-1";
+
+    private final RedisServiceManager redisService = mock(RedisServiceManager.class);
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void concurrentRequestsShareOneRotation() throws Exception {
+        TokenReissueCoalescer coalescer = coalescer(false, 2000);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<RefreshTokenRotationResult> slowRotation = () -> {
+            started.countDown();
+            await(release);
+            return rotated("rotated-" + calls.incrementAndGet());
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<RefreshTokenRotationResult>> results = new ArrayList<>();
+            results.add(executor.submit(() -> coalescer.reissue(TOKEN, DEVICE, slowRotation)));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> coalescer.reissue(TOKEN, DEVICE, slowRotation)));
+            }
+            // 나머지 요청이 in-flight future 에 합류할 때까지
+            while (coalescer.coalescedCount() < 7) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+
+            for (Future<RefreshTokenRotationResult> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getRefreshToken()).isEqualTo("rotated-1");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(coalescer.computedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void memoServesRepeatsWithinTheWindowOnly() throws Exception {
+        TokenReissueCoalescer coalescer = coalescer(false, 100);
+
+        RefreshTokenRotationResult first = coalescer.reissue(TOKEN, DEVICE, this::rotate);
+        assertThat(coalescer.reissue(TOKEN, DEVICE, this::rotate)).isSameAs(first);
+        // 다른 device / 다른 token 은 합치지 않는다.
+        assertThat(coalescer.reissue(TOKEN, "device-2", this::rotate)).isNotSameAs(first);
+        assertThat(coalescer.reissue("other-token", DEVICE, this::rotate)).isNotSameAs(first);
+        assertThat(calls).hasValue(3);
+
+        Thread.sleep(150);
+        assertThat(coalescer.reissue(TOKEN, DEVICE, this::rotate)).isNotSameAs(first);
+        assertThat(calls).hasValue(4);
+    }
+
+    @Test
+    void memoNeverOutlivesTheReuseGrace() {
+        // memo-ms 2000 > reuse-grace-ms 0 -> memo 없음
+        TokenReissueCoalescer coalescer = new TokenReissueCoalescer(redisService, false, 2000, 100, 0);
+
+        coalescer.reissue(TOKEN, DEVICE, this::rotate);
+        coalescer.reissue(TOKEN, DEVICE, this::rotate);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void failuresAreNotMemoized() {
+        TokenReissueCoalescer coalescer = coalescer(false, 2000);
+
+        assertThatThrownBy(() -> coalescer.reissue(TOKEN, DEVICE, () -> {
+            throw new IllegalStateException("redis down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(coalescer.reissue(TOKEN, DEVICE, this::rotate).getRefreshToken()).isEqualTo("rotated-1");
+    }
+
+    @Test
+    void distributedMemoIsReadBeforeRotatingAndWrittenAfter() {
+        TokenReissueCoalescer coalescer = coalescer(true, 2000);
+        RefreshTokenRotationResult remote = rotated("from-other-node");
+        when(redisService.getReissueMemo(anyString())).thenReturn(remote).thenReturn(null);
+
+        assertThat(coalescer.reissue(TOKEN, DEVICE, this::rotate)).isSameAs(remote);
+        assertThat(coalescer.remoteHitCount()).isEqualTo(1);
+        assertThat(calls).hasValue(0);
+
+        RefreshTokenRotationResult rotated = coalescer.reissue(TOKEN, "device-2", this::rotate);
+        verify(redisService).saveReissueMemo(anyString(), eq(rotated), eq(2000L));
+    }
+
+    @Test
+    void rejectedRotationsAreNotSharedAcrossNodes() {
+        TokenReissueCoalescer coalescer = coalescer(true, 2000);
+
+        coalescer.reissue(TOKEN, DEVICE, () -> RefreshTokenRotationResult.builder().status(RefreshTokenRotationResult.Status.REUSED).build());
+
+        verify(redisService, never()).saveReissueMemo(anyString(), any(), anyLong());
+    }
+
+    private TokenReissueCoalescer coalescer(boolean distributed, long memoMillis) {
+        return new TokenReissueCoalescer(redisService, distributed, memoMillis, 100, 2000);
+    }
+
+    private RefreshTokenRotationResult rotate() {
+        return rotated("rotated-" + calls.incrementAndGet());
+    }
+
+    private static RefreshTokenRotationResult rotated(String refreshToken) {
+        return RefreshTokenRotationResult.builder()
+                .status(RefreshTokenRotationResult.Status.ROTATED)
+                .refreshToken(refreshToken)
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
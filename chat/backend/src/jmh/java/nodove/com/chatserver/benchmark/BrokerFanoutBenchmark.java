@@ -0,0 +1,106 @@
+package nodove.com.chatserver.benchmark;
+
+import nodove.com.chatserver.configuration.DestinationSubscriptionRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.DefaultSubscriptionRegistry;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SubscriptionRegistry;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+// 메시지 1건의 simple broker fanout 비용 (구독 조회 + 구독자별 outbound 메시지 생성 / 전송)
+//   broadcast     : 기존 방식. 모든 세션이 /topic/messages 를 구독하고 모든 메시지를 받는다. (rooms * members 건 전달)
+//   room-default  : /topic/room.{id} + 기본 DefaultSubscriptionRegistry (destination cache 1024 개를 넘으면 전체 구독 순회)
+//   room-indexed  : /topic/room.{id} + DestinationSubscriptionRegistry (members 건만 전달)
+// outbound channel 은 executor 없이 동기로 전송하고 전달 건수만 센다.
+@State(Scope.Benchmark)
+public class BrokerFanoutBenchmark {
+
+    private static final String BROADCAST_DESTINATION = "/topic/messages";
+    private static final String ROOM_PREFIX = "/topic/room.";
+
+    @Param({"broadcast", "room-default", "room-indexed"})
+    public String mode;
+
+    @Param({"100", "10000"})
+    public int rooms;
+
+    @Param({"10"})
+    public int members;
+
+    private SimpleBrokerMessageHandler broker;
+    private final LongAdder delivered = new LongAdder();
+    private Message<?>[] roomMessages;
+    private Message<?> broadcastMessage;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(message -> delivered.increment());
+
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic", "/queue"));
+        if ("room-indexed".equals(mode)) {
+            broker.setSubscriptionRegistry(new DestinationSubscriptionRegistry());
+        }
+        broker.start();
+
+        SubscriptionRegistry registry = broker.getSubscriptionRegistry();
+        boolean broadcast = "broadcast".equals(mode);
+        for (int room = 0; room < rooms; room++) {
+            for (int member = 0; member < members; member++) {
+                String sessionId = "session-" + room + "-" + member;
+                registry.registerSubscription(subscribe(sessionId, "sub-0", broadcast ? BROADCAST_DESTINATION : ROOM_PREFIX + room));
+            }
+        }
+
+        byte[] payload = "{\"sender\":\"user-1\",\"receiver\":\"room\",\"timestamp\":\"2024-01-01T00:00:00\"}".getBytes();
+        broadcastMessage = message(BROADCAST_DESTINATION, payload);
+        roomMessages = new Message<?>[rooms];
+        for (int room = 0; room < rooms; room++) {
+            roomMessages[room] = message(ROOM_PREFIX + room, payload);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broker.stop();
+    }
+
+    @Benchmark
+    public long send() {
+        Message<?> message = "broadcast".equals(mode)
+                ? broadcastMessage
+                : roomMessages[ThreadLocalRandom.current().nextInt(rooms)];
+        broker.handleMessage(message);
+        return delivered.sum();
+    }
+
+    private static Message<byte[]> subscribe(String sessionId, String subscriptionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(subscriptionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> message(String destination, byte[] payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,25 @@
+package nodove.com.chatserver.configuration
+
+import org.apache.kafka.clients.admin.NewTopic
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import org.springframework.kafka.config.TopicBuilder
+
+// cluster 모드 relay topic (KafkaAdmin 이 기동 시 없으면 생성). partition 수는 KafkaClusterRelay 의 partition 계산과 같아야 한다.
+@Configuration
+@ConditionalOnProperty(prefix = "chat.cluster", name = ["enabled"], havingValue = "true")
+class ClusterConfig(
+    @Value("\${chat.cluster.partitions:12}") private val partitions: Int,
+    @Value("\${chat.cluster.replicas:1}") private val replicas: Int,
+) {
+
+    @Bean
+    fun chatRoomTopic(@Value("\${chat.cluster.room-topic:chat.rooms}") roomTopic: String): NewTopic =
+        TopicBuilder.name(roomTopic).partitions(partitions).replicas(replicas).build()
+
+    @Bean
+    fun chatUserTopic(@Value("\${chat.cluster.user-topic:chat.users}") userTopic: String): NewTopic =
+        TopicBuilder.name(userTopic).partitions(partitions).replicas(replicas).build()
+}
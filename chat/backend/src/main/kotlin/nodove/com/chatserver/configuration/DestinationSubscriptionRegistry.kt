@@ -0,0 +1,104 @@
+package nodove.com.chatserver.configuration
+
+import org.springframework.messaging.Message
+import org.springframework.messaging.simp.broker.AbstractSubscriptionRegistry
+import org.springframework.util.AntPathMatcher
+import org.springframework.util.CollectionUtils
+import org.springframework.util.LinkedMultiValueMap
+import org.springframework.util.MultiValueMap
+import org.springframework.util.PathMatcher
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * destination 으로 색인한 simple broker 구독 registry.
+ *
+ * DefaultSubscriptionRegistry 는 destination cache (기본 1024 개) 에 없으면 모든 세션의 구독을 pattern 매칭으로 훑는다.
+ * 방이 많아지면 cache 가 계속 밀려나 메시지마다 전체 구독을 순회하게 되므로,
+ * 여기서는 destination -> (sessionId -> subscriptionIds) snapshot 을 유지해 조회를 O(1) 로, 전달은 해당 방 구독자 수만큼만 한다.
+ *  - snapshot 은 구독 / 해지 시에만 복사해서 교체 (copy-on-write), 메시지 전달 경로에서는 할당 없음
+ *  - wildcard 구독 (예: /topic/room.*) 은 드물다고 보고 별도 목록을 pattern 매칭한다.
+ *  - STOMP selector header 는 지원하지 않는다.
+ */
+class DestinationSubscriptionRegistry @JvmOverloads constructor(
+    private val pathMatcher: PathMatcher = AntPathMatcher()
+) : AbstractSubscriptionRegistry() {
+
+    // destination -> 구독 snapshot (읽기 전용)
+    private val byDestination = ConcurrentHashMap<String, MultiValueMap<String, String>>()
+
+    // sessionId -> (subscriptionId -> destination), 해지 / 연결 종료 시 역색인
+    private val bySession = ConcurrentHashMap<String, ConcurrentHashMap<String, String>>()
+
+    // sessionId -> (subscriptionId -> pattern)
+    private val patternSubscriptions = ConcurrentHashMap<String, ConcurrentHashMap<String, String>>()
+
+    override fun addSubscriptionInternal(sessionId: String, subscriptionId: String, destination: String, message: Message<*>) {
+        if (pathMatcher.isPattern(destination)) {
+            patternSubscriptions.computeIfAbsent(sessionId) { ConcurrentHashMap() }[subscriptionId] = destination
+            return
+        }
+        bySession.computeIfAbsent(sessionId) { ConcurrentHashMap() }[subscriptionId] = destination
+        byDestination.compute(destination) { _, current ->
+            val next = copyOf(current)
+            next.add(sessionId, subscriptionId)
+            CollectionUtils.unmodifiableMultiValueMap(next)
+        }
+    }
+
+    override fun removeSubscriptionInternal(sessionId: String, subscriptionId: String, message: Message<*>) {
+        patternSubscriptions[sessionId]?.remove(subscriptionId)
+        val destination = bySession[sessionId]?.remove(subscriptionId) ?: return
+        removeFromDestination(destination, sessionId, subscriptionId)
+    }
+
+    override fun unregisterAllSubscriptions(sessionId: String) {
+        patternSubscriptions.remove(sessionId)
+        bySession.remove(sessionId)?.forEach { (subscriptionId, destination) ->
+            removeFromDestination(destination, sessionId, subscriptionId)
+        }
+    }
+
+    override fun findSubscriptionsInternal(destination: String, message: Message<*>): MultiValueMap<String, String> {
+        val exact = byDestination[destination]
+        if (patternSubscriptions.isEmpty()) {
+            return exact ?: EMPTY
+        }
+        val result = copyOf(exact)
+        patternSubscriptions.forEach { (sessionId, subscriptions) ->
+            subscriptions.forEach { (subscriptionId, pattern) ->
+                if (pathMatcher.match(pattern, destination)) {
+                    result.add(sessionId, subscriptionId)
+                }
+            }
+        }
+        return result
+    }
+
+    private fun removeFromDestination(destination: String, sessionId: String, subscriptionId: String) {
+        byDestination.computeIfPresent(destination) { _, current ->
+            val next = copyOf(current)
+            val subscriptionIds = next[sessionId] ?: return@computeIfPresent current
+            subscriptionIds.remove(subscriptionId)
+            if (subscriptionIds.isEmpty()) {
+                next.remove(sessionId)
+            }
+            if (next.isEmpty()) null else CollectionUtils.unmodifiableMultiValueMap(next)
+        }
+    }
+
+    // 구독 중인 destination 수 (방 + 세션별 user queue)
+    fun destinationCount(): Int = byDestination.size
+
+    override fun toString(): String =
+        "DestinationSubscriptionRegistry[destinations=${byDestination.size}, sessions=${bySession.size}, patternSessions=${patternSubscriptions.size}]"
+
+    companion object {
+        private val EMPTY: MultiValueMap<String, String> = CollectionUtils.unmodifiableMultiValueMap(LinkedMultiValueMap())
+
+        private fun copyOf(current: MultiValueMap<String, String>?): LinkedMultiValueMap<String, String> {
+            val copy = LinkedMultiValueMap<String, String>(current?.size ?: 1)
+            current?.forEach { (sessionId, subscriptionIds) -> copy[sessionId] = ArrayList(subscriptionIds) }
+            return copy
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package nodove.com.chatserver.configuration
+
+import io.micrometer.core.instrument.FunctionCounter
+import io.micrometer.core.instrument.Gauge
+import io.micrometer.core.instrument.TimeGauge
+import io.micrometer.core.instrument.binder.MeterBinder
+import nodove.com.chatserver.service.KafkaClusterRelay
+import nodove.com.chatserver.service.MessageWriter
+import nodove.com.chatserver.service.RecentMessageBuffer
+import org.springframework.beans.factory.ObjectProvider
+import org.springframework.context.annotation.Bean
+import org.springframework.context.annotation.Configuration
+import java.util.concurrent.TimeUnit
+
+// 각 컴포넌트가 들고 있는 통계 getter 를 gauge / function counter 로 노출 (scrape 시점에만 읽음)
+@Configuration
+class MetricsConfig {
+
+    @Bean
+    fun messageWriterMetrics(messageWriter: MessageWriter): MeterBinder = MeterBinder { registry ->
+        Gauge.builder("chat.message_writer.queue", messageWriter) { it.queueDepth().toDouble() }
+            .register(registry)
+        // 기록 지연: 현재 가장 오래 기다리는 message / 마지막 flush 의 최대 지연
+        TimeGauge.builder("chat.message_writer.lag", messageWriter, TimeUnit.NANOSECONDS) { it.oldestPendingAgeNanos().toDouble() }
+            .tag("kind", "oldest_pending")
+            .register(registry)
+        TimeGauge.builder("chat.message_writer.lag", messageWriter, TimeUnit.NANOSECONDS) { it.lastFlushLagNanos().toDouble() }
+            .tag("kind", "last_flush")
+            .register(registry)
+        TimeGauge.builder("chat.message_writer.last_flush", messageWriter, TimeUnit.NANOSECONDS) { it.lastFlushLatencyNanos().toDouble() }
+            .register(registry)
+        FunctionCounter.builder("chat.message_writer.records", messageWriter) { it.flushedCount().toDouble() }
+            .tag("result", "flushed")
+            .register(registry)
+        FunctionCounter.builder("chat.message_writer.records", messageWriter) { it.droppedCount().toDouble() }
+            .tag("result", "dropped")
+            .register(registry)
+        FunctionCounter.builder("chat.message_writer.records", messageWriter) { it.failedCount().toDouble() }
+            .tag("result", "failed")
+            .register(registry)
+        FunctionCounter.builder("chat.message_writer.records", messageWriter) { it.callerRunsCount().toDouble() }
+            .tag("result", "caller_runs")
+            .register(registry)
+    }
+
+    @Bean
+    fun recentMessageBufferMetrics(recentMessageBuffer: RecentMessageBuffer): MeterBinder = MeterBinder { registry ->
+        // hit ratio = hit / (hit + miss)
+        FunctionCounter.builder("chat.recent_messages.gets", recentMessageBuffer) { it.hitCount().toDouble() }
+            .tag("result", "hit")
+            .register(registry)
+        FunctionCounter.builder("chat.recent_messages.gets", recentMessageBuffer) { it.missCount().toDouble() }
+            .tag("result", "miss")
+            .register(registry)
+        Gauge.builder("chat.recent_messages.rooms", recentMessageBuffer) { it.roomCount().toDouble() }
+            .register(registry)
+        Gauge.builder("chat.recent_messages.memory", recentMessageBuffer) { it.estimatedBytes().toDouble() }
+            .baseUnit("bytes")
+            .register(registry)
+    }
+
+    // cluster 모드에서만 (relay 지연 timer 는 KafkaClusterRelay 가 직접 등록)
+    @Bean
+    fun clusterRelayMetrics(clusterRelay: ObjectProvider<KafkaClusterRelay>): MeterBinder = MeterBinder { registry ->
+        clusterRelay.ifAvailable { relay ->
+            FunctionCounter.builder("chat.cluster.relay.messages", relay) { it.publishedCount().toDouble() }
+                .tag("result", "published")
+                .register(registry)
+            FunctionCounter.builder("chat.cluster.relay.messages", relay) { it.publishFailedCount().toDouble() }
+                .tag("result", "publish_failed")
+                .register(registry)
+            FunctionCounter.builder("chat.cluster.relay.messages", relay) { it.deliveredCount().toDouble() }
+                .tag("result", "delivered")
+                .register(registry)
+            FunctionCounter.builder("chat.cluster.relay.messages", relay) { it.skippedCount().toDouble() }
+                .tag("result", "skipped")
+                .register(registry)
+            Gauge.builder("chat.cluster.relay.partitions", relay) { it.assignedPartitions().size.toDouble() }
+                .register(registry)
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package nodove.com.chatserver.configuration
 
+import org.springframework.beans.factory.config.BeanPostProcessor
+import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler
 import org.springframework.messaging.simp.config.MessageBrokerRegistry
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry
@@ -18,6 +21,23 @@ class WebSocketConfig : WebSocketMessageBrokerConfigurer {
         // 클라이언트에서 메시지를 보낼 endpoint 를 설정
         registry.setApplicationDestinationPrefixes("/app")
         // 클라이언트 구독 요청을 처리할 때 메시지를 전달할 endpoint 설정
-        registry.enableSimpleBroker("/topic")
+        // /topic/room.{roomId} : 채팅방, /queue : 사용자 개인 queue (/user/queue/... 로 구독)
+        registry.enableSimpleBroker("/topic", "/queue")
+        registry.setUserDestinationPrefix("/user")
+    }
+
+    companion object {
+        // simple broker 의 구독 registry 를 destination 색인 registry 로 교체
+        // (BeanPostProcessor 이므로 static 으로 선언해 설정 class 의 조기 초기화를 피한다)
+        @Bean
+        @JvmStatic
+        fun destinationSubscriptionRegistryPostProcessor(): BeanPostProcessor = object : BeanPostProcessor {
+            override fun postProcessAfterInitialization(bean: Any, beanName: String): Any {
+                if (bean is SimpleBrokerMessageHandler) {
+                    bean.subscriptionRegistry = DestinationSubscriptionRegistry()
+                }
+                return bean
+            }
+        }
     }
 }
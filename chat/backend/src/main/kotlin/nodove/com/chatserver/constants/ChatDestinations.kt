@@ -0,0 +1,11 @@
+package nodove.com.chatserver.constants
+
+// broker destination 규칙
+//  - 채팅방      : /topic/room.{roomId}             (방 구독자에게만 전달)
+//  - 사용자 개인 : /user/queue/messages -> 세션별 /queue/messages-user{sessionId} (UserDestinationMessageHandler 가 변환)
+object ChatDestinations {
+    const val ROOM_PREFIX = "/topic/room."
+    const val USER_QUEUE = "/queue/messages"
+
+    fun room(roomId: String): String = ROOM_PREFIX + roomId
+}
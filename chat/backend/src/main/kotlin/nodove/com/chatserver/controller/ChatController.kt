@@ -1,39 +1,103 @@
 package nodove.com.chatserver.controller
 
 import nodove.com.chatserver.dto.Message
-import nodove.com.chatserver.repository.MessageRepository
+import nodove.com.chatserver.dto.MessageCursor
+import nodove.com.chatserver.dto.MessagePageDto
+import nodove.com.chatserver.service.ChatMessagePublisher
+import nodove.com.chatserver.service.MessageHistoryService
+import nodove.com.chatserver.service.MessageWriter
+import nodove.com.chatserver.service.RecentMessageBuffer
 import org.slf4j.LoggerFactory
+import org.springframework.messaging.handler.annotation.DestinationVariable
 import org.springframework.messaging.handler.annotation.MessageMapping
 import org.springframework.messaging.handler.annotation.Payload
-import org.springframework.messaging.handler.annotation.SendTo
-import org.springframework.messaging.simp.SimpMessagingTemplate
+import org.springframework.http.HttpStatus
+import org.springframework.security.access.AccessDeniedException
 import org.springframework.web.bind.annotation.GetMapping
+import org.springframework.web.bind.annotation.PathVariable
+import org.springframework.web.bind.annotation.RequestParam
 import org.springframework.web.bind.annotation.RestController
+import org.springframework.web.server.ResponseStatusException
+import java.security.Principal
+import java.time.LocalDateTime
 
 @RestController
-class ChatController(private val messageRepository: MessageRepository, private val messageTemplate: SimpMessagingTemplate) {
+class ChatController(
+    private val messageHistoryService: MessageHistoryService,
+    private val messageWriter: MessageWriter,
+    private val recentMessageBuffer: RecentMessageBuffer,
+    private val chatMessagePublisher: ChatMessagePublisher
+) {
 
     private val log = LoggerFactory.getLogger(ChatController::class.java)
 
+    // 보낸 사람은 payload 의 sender 가 아니라 WebSocket 세션의 인증 사용자 (handshake 의 access token) 로 정한다.
+    // id 도 payload 값을 쓰지 않고 MessageWriter 가 새로 정한다. (이미 있는 id 면 저장되지 않고, ObjectId 가 아니면 cursor 를 만들 수 없다)
+    // timestamp 는 서버가 메시지를 받은 시각. 이력 keyset 순서 (timestamp, _id) 와 RecentMessageBuffer 의 append 순서가 같아야 한다.
+
+    // 1:1 메시지: 받는 사용자의 모든 세션 (/user/queue/messages 구독) 에만 전달
+    // 반환값이 없으므로 기본 destination (/topic/chat.sendMessage/...) 으로는 다시 보내지 않는다.
     @MessageMapping("/chat.sendMessage/{receiver}")
-    /**
-     * or using
-     * @SendTo("/topic/messages/{receiver}")
-     * */
-
-    fun sendMessage(@Payload message: Message): Message {
-        log.info("Message sent: $message")
-        messageTemplate.convertAndSend("/topic/messages", message);
-        messageRepository.save(message)
-        return message
+    fun sendMessage(@DestinationVariable receiver: String, @Payload message: Message, principal: Principal?) {
+        val sender = senderOf(principal)
+        log.debug("Message sent: {}", message)
+        // 저장은 MessageWriter 가 batch 로 (id 는 적재 시점에 확정)
+        val directMessage = messageWriter.enqueue(message.copy(id = null, sender = sender, receiver = receiver, roomId = Message.directRoomId(sender, receiver), timestamp = LocalDateTime.now()))
+        recentMessageBuffer.append(directMessage)
+        chatMessagePublisher.publishToUser(receiver, directMessage)
+    }
+
+    // 채팅방 메시지: /topic/room.{roomId} 구독자에게만 전달
+    @MessageMapping("/chat.room/{roomId}")
+    fun sendRoomMessage(@DestinationVariable roomId: String, @Payload message: Message, principal: Principal?) {
+        val sender = senderOf(principal)
+        log.debug("Room message sent: room={}, {}", roomId, message)
+        val roomMessage = messageWriter.enqueue(message.copy(id = null, sender = sender, roomId = roomId, timestamp = LocalDateTime.now()))
+        recentMessageBuffer.append(roomMessage)
+        chatMessagePublisher.publishToRoom(roomId, roomMessage)
+    }
+
+    // 인증되지 않은 세션의 frame 은 저장 / 전달하지 않는다.
+    private fun senderOf(principal: Principal?): String =
+        principal?.name ?: throw AccessDeniedException("Chat messages require an authenticated session")
+
+
+    // 방 이력: before / after cursor 기준 keyset pagination (둘 다 없으면 최신 page, RecentMessageBuffer 에서 DB 조회 없이 응답)
+    // 1:1 대화는 roomId = dm:{userA}:{userB}, 대화 참여자 본인 (Bearer access token) 만 조회할 수 있다.
+    @GetMapping("/rooms/{roomId}/messages")
+    fun messages(
+        @PathVariable roomId: String,
+        @RequestParam(required = false) before: String?,
+        @RequestParam(required = false) after: String?,
+        @RequestParam(required = false) size: Int?,
+        principal: Principal?
+    ): MessagePageDto {
+        checkReadable(roomId, principal)
+        try {
+            if (before == null && after == null) {
+                recentMessageBuffer.recent(roomId, messageHistoryService.pageSize(size))?.let { return it }
+            }
+            return messageHistoryService.findPage(roomId, before?.let(MessageCursor::decode), after?.let(MessageCursor::decode), size)
+        } catch (e: IllegalArgumentException) {
+            throw ResponseStatusException(HttpStatus.BAD_REQUEST, e.message, e)
+        }
     }
 
+    // 1:1 대화 (형식이 맞지 않는 dm: 포함) 는 두 참여자 외에는 403
+    private fun checkReadable(roomId: String, principal: Principal?) {
+        if (!roomId.startsWith(DIRECT_ROOM_PREFIX)) {
+            return
+        }
+        val userId = principal?.name
+        val participants = Message.directParticipants(roomId)
+        if (userId == null || participants == null || (participants.first != userId && participants.second != userId)) {
+            throw ResponseStatusException(HttpStatus.FORBIDDEN, "Not a participant of this conversation")
+        }
+    }
 
-    @MessageMapping("/chat.addUser")
-    @GetMapping("/messages")
-    fun messages(): List<Message> {
-        return messageRepository.findAllByOrderByTimestampAsc()
+    companion object {
+        private const val DIRECT_ROOM_PREFIX = "dm:"
     }
 
 
-}
\ No newline at end of file
+}
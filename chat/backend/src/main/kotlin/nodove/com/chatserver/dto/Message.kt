@@ -1,13 +1,33 @@
 package nodove.com.chatserver.dto
 
 import org.springframework.data.annotation.Id
+import org.springframework.data.mongodb.core.index.CompoundIndex
 import org.springframework.data.mongodb.core.mapping.Document
 import java.time.LocalDateTime
 
+// 방별 이력 keyset 조회 (roomId, timestamp, _id) 용 index, 역방향 (이전 이력) 조회도 같은 index 를 사용한다.
 @Document(collection = "messages")
+@CompoundIndex(name = "room_timestamp_id", def = "{'roomId': 1, 'timestamp': 1, '_id': 1}")
 data class Message (
     @Id val id: String? = null,
     val sender: String,
     val receiver: String,
+    // 채팅방 id, 1:1 메시지는 directRoomId(sender, receiver)
+    val roomId: String? = null,
     val timestamp: LocalDateTime = LocalDateTime.now()
-)
+) {
+    companion object {
+        // 두 사용자 사이의 1:1 대화 id (순서와 무관)
+        fun directRoomId(userA: String, userB: String): String =
+            if (userA <= userB) "dm:$userA:$userB" else "dm:$userB:$userA"
+
+        // 1:1 대화 id 의 두 사용자 (1:1 대화가 아니면 null)
+        fun directParticipants(roomId: String): Pair<String, String>? {
+            if (!roomId.startsWith("dm:")) {
+                return null
+            }
+            val parts = roomId.split(':')
+            return if (parts.size == 3) parts[1] to parts[2] else null
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package nodove.com.chatserver.dto
+
+import org.bson.types.ObjectId
+import java.nio.charset.StandardCharsets
+import java.time.LocalDateTime
+import java.time.format.DateTimeParseException
+import java.util.Base64
+
+// 이력 keyset 위치 (timestamp, _id), 클라이언트에는 불투명한 base64url 문자열로 전달한다.
+data class MessageCursor(val timestamp: LocalDateTime, val id: ObjectId) {
+
+    fun encode(): String =
+        Base64.getUrlEncoder().withoutPadding().encodeToString("$timestamp$SEPARATOR${id.toHexString()}".toByteArray(StandardCharsets.UTF_8))
+
+    companion object {
+        private const val SEPARATOR = '_'
+
+        fun of(message: Message): MessageCursor = MessageCursor(message.timestamp, ObjectId(message.id))
+
+        // 형식이 맞지 않으면 IllegalArgumentException
+        fun decode(cursor: String): MessageCursor {
+            try {
+                val decoded = String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                val separator = decoded.lastIndexOf(SEPARATOR)
+                require(separator > 0) { "Invalid cursor" }
+                return MessageCursor(LocalDateTime.parse(decoded.substring(0, separator)), ObjectId(decoded.substring(separator + 1)))
+            } catch (e: DateTimeParseException) {
+                throw IllegalArgumentException("Invalid cursor", e)
+            }
+        }
+    }
+}
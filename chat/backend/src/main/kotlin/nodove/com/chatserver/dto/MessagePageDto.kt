@@ -0,0 +1,11 @@
+package nodove.com.chatserver.dto
+
+// 이력 한 page. messages 는 항상 시간 순 (오래된 것 -> 최신)
+//  - before=oldestCursor 로 더 이전 이력, after=newestCursor 로 이후 이력을 이어서 조회
+//  - hasMore: 요청한 방향으로 더 남아 있는지
+data class MessagePageDto(
+    val messages: List<Message>,
+    val oldestCursor: String?,
+    val newestCursor: String?,
+    val hasMore: Boolean
+)
@@ -3,6 +3,5 @@ package nodove.com.chatserver.repository
 import nodove.com.chatserver.dto.Message
 import org.springframework.data.mongodb.repository.MongoRepository
 
-interface MessageRepository : MongoRepository<Message, String>{
-    fun findAllByOrderByTimestampAsc() : List<Message>
-}
\ No newline at end of file
+// 이력 조회는 MessageHistoryService (keyset pagination), 저장은 MessageWriter (bulk insert)
+interface MessageRepository : MongoRepository<Message, String>
@@ -0,0 +1,13 @@
+package nodove.com.chatserver.service
+
+import nodove.com.chatserver.dto.Message
+
+// 메시지 전달 경로: 단일 node 에서는 LocalMessagePublisher, cluster 모드에서는 KafkaClusterRelay (@Primary)
+interface ChatMessagePublisher {
+
+    // /topic/room.{roomId} 구독자에게
+    fun publishToRoom(roomId: String, message: Message)
+
+    // 사용자의 /user/queue/messages 구독 세션에게
+    fun publishToUser(userId: String, message: Message)
+}
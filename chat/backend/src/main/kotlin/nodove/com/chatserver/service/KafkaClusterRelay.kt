@@ -0,0 +1,333 @@
+package nodove.com.chatserver.service
+
+import com.fasterxml.jackson.core.JacksonException
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.Timer
+import nodove.com.chatserver.constants.ChatDestinations
+import nodove.com.chatserver.dto.Message
+import org.apache.kafka.clients.consumer.Consumer
+import org.apache.kafka.clients.consumer.ConsumerConfig
+import org.apache.kafka.clients.consumer.ConsumerRecord
+import org.apache.kafka.clients.producer.ProducerRecord
+import org.apache.kafka.common.TopicPartition
+import org.apache.kafka.common.errors.WakeupException
+import org.apache.kafka.common.utils.Utils
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Qualifier
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty
+import org.springframework.context.SmartLifecycle
+import org.springframework.context.annotation.Primary
+import org.springframework.context.event.EventListener
+import org.springframework.kafka.core.ConsumerFactory
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor
+import org.springframework.stereotype.Component
+import org.springframework.web.socket.messaging.SessionDisconnectEvent
+import org.springframework.web.socket.messaging.SessionSubscribeEvent
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.time.Duration
+import java.util.Properties
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * cluster 모드 (chat.cluster.enabled=true) 메시지 전달: 어느 node 에서 보낸 메시지든 모든 node 의 구독자에게 전달한다.
+ *
+ *  - 전송: 방 메시지는 room-topic, 1:1 메시지는 user-topic 으로 보낸다. partition = murmur2(roomId | userId) % partitions
+ *          (같은 방 / 같은 사용자의 메시지는 한 partition 에 순서대로 쌓인다)
+ *  - 수신: consumer group 없이 이 node 에 구독자가 있는 방 / 사용자의 partition 만 직접 assign 하고,
+ *          consumer 스레드 하나가 순서대로 LocalMessagePublisher 로 전달한다. (보낸 node 의 구독자도 이 경로로 받는다)
+ *  - 구독 변경 (STOMP SUBSCRIBE / UNSUBSCRIBE / DISCONNECT) 시 partition 별 참조 수를 세어 assignment 를 바꾼다.
+ *    새로 assign 한 partition 은 끝에서부터 읽으므로 그 전 메시지는 이력 조회 (RecentMessageBuffer / Mongo) 로 받는다.
+ *  - RecentMessageBuffer 는 이 node 가 모든 메시지를 받는 방 (hasInterest) 만 보관한다. 나머지 방은 놓친 메시지가 있을 수 있어 DB 에서 조회한다.
+ *  - chat.cluster.relay.latency: 보낸 node 의 전송 시각 (sent-at header) -> 이 node 의 전달 시각. node 간 시계 차이가 그대로 포함된다.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "chat.cluster", name = ["enabled"], havingValue = "true")
+class KafkaClusterRelay(
+    private val kafkaTemplate: KafkaTemplate<String, String>,
+    private val consumerFactory: ConsumerFactory<String, String>,
+    private val objectMapper: ObjectMapper,
+    @Qualifier("localMessagePublisher") private val localMessagePublisher: ChatMessagePublisher,
+    private val recentMessageBuffer: RecentMessageBuffer,
+    meterRegistry: MeterRegistry,
+    @Value("\${chat.cluster.room-topic:chat.rooms}") private val roomTopic: String,
+    @Value("\${chat.cluster.user-topic:chat.users}") private val userTopic: String,
+    @Value("\${chat.cluster.partitions:12}") private val partitions: Int,
+    @Value("\${chat.cluster.poll-ms:100}") private val pollMillis: Long,
+) : ChatMessagePublisher, SmartLifecycle {
+
+    private data class Interest(val topic: String, val key: String)
+
+    private val log = LoggerFactory.getLogger(KafkaClusterRelay::class.java)
+
+    // 구독 상태 (lock 으로 보호, interests 는 consumer 스레드가 lock 없이 조회)
+    private val lock = Any()
+    private val sessions = HashMap<String, HashMap<String, Interest>>()  // sessionId -> subscriptionId -> interest
+    private val interests = ConcurrentHashMap<Interest, Int>()
+    private val partitionRefs = HashMap<TopicPartition, Int>()
+    @Volatile private var assignmentDirty = true
+    @Volatile private var assigned: Set<TopicPartition> = emptySet()
+
+    private val relayLatency = Timer.builder("chat.cluster.relay.latency")
+        .publishPercentileHistogram()
+        .register(meterRegistry)
+    private val publishedCount = LongAdder()
+    private val publishFailedCount = LongAdder()
+    private val deliveredCount = LongAdder()
+    private val skippedCount = LongAdder()
+
+    @Volatile private var running = false
+    @Volatile private var consumer: Consumer<String, String>? = null
+    private var consumerThread: Thread? = null
+
+    init {
+        recentMessageBuffer.restrictTo(::hasInterest)
+    }
+
+    override fun publishToRoom(roomId: String, message: Message) {
+        send(roomTopic, roomId, message)
+    }
+
+    override fun publishToUser(userId: String, message: Message) {
+        send(userTopic, userId, message)
+    }
+
+    private fun send(topic: String, key: String, message: Message) {
+        val record = ProducerRecord(topic, partitionOf(key), key, objectMapper.writeValueAsString(message))
+        record.headers().add(SENT_AT_HEADER, ByteBuffer.allocate(Long.SIZE_BYTES).putLong(System.currentTimeMillis()).array())
+        kafkaTemplate.send(record).whenComplete { _, e ->
+            if (e == null) {
+                publishedCount.increment()
+            } else {
+                publishFailedCount.increment()
+                log.warn("Failed to relay chat message: topic={}, key={}, id={}: {}", topic, key, message.id, e.message)
+            }
+        }
+    }
+
+    // producer / consumer 가 같은 계산을 쓰므로 topic 의 실제 partition 수와 관계없이 일치한다. (chat.cluster.partitions 이하여야 함)
+    private fun partitionOf(key: String): Int =
+        Utils.toPositive(Utils.murmur2(key.toByteArray(StandardCharsets.UTF_8))) % partitions
+
+    @EventListener
+    fun onSubscribe(event: SessionSubscribeEvent) {
+        val accessor = StompHeaderAccessor.wrap(event.message)
+        val sessionId = accessor.sessionId ?: return
+        val subscriptionId = accessor.subscriptionId ?: return
+        val interest = interestOf(accessor.destination, event.user?.name) ?: return
+        synchronized(lock) {
+            sessions.getOrPut(sessionId) { HashMap() }.put(subscriptionId, interest)?.let(::releaseLocked)
+            retainLocked(interest)
+        }
+    }
+
+    @EventListener
+    fun onUnsubscribe(event: SessionUnsubscribeEvent) {
+        val accessor = StompHeaderAccessor.wrap(event.message)
+        val sessionId = accessor.sessionId ?: return
+        val subscriptionId = accessor.subscriptionId ?: return
+        synchronized(lock) {
+            sessions[sessionId]?.remove(subscriptionId)?.let(::releaseLocked)
+        }
+    }
+
+    // 같은 세션에 대해 여러 번 발생할 수 있다. (두 번째부터는 아무것도 하지 않음)
+    @EventListener
+    fun onDisconnect(event: SessionDisconnectEvent) {
+        synchronized(lock) {
+            sessions.remove(event.sessionId)?.values?.forEach(::releaseLocked)
+        }
+    }
+
+    private fun interestOf(destination: String?, userName: String?): Interest? = when {
+        destination == null -> null
+        destination.startsWith(ChatDestinations.ROOM_PREFIX) -> Interest(roomTopic, destination.removePrefix(ChatDestinations.ROOM_PREFIX))
+        destination == USER_QUEUE_SUBSCRIPTION && userName != null -> Interest(userTopic, userName)
+        else -> null
+    }
+
+    // 이 node 가 방의 모든 메시지를 받는지: 방 구독자가 있거나, 1:1 대화면 두 사용자 모두 이 node 에 구독 중 (1:1 메시지는 받는 사용자의 partition 으로만 전달)
+    fun hasInterest(roomId: String): Boolean {
+        val participants = Message.directParticipants(roomId)
+            ?: return interests.containsKey(Interest(roomTopic, roomId))
+        return interests.containsKey(Interest(userTopic, participants.first)) &&
+            interests.containsKey(Interest(userTopic, participants.second))
+    }
+
+    // STOMP 세션 없이 구독 상태를 바꿀 때 (테스트 등)
+    fun retainRoom(roomId: String) = synchronized(lock) { retainLocked(Interest(roomTopic, roomId)) }
+
+    fun releaseRoom(roomId: String) = synchronized(lock) { releaseLocked(Interest(roomTopic, roomId)) }
+
+    fun retainUser(userId: String) = synchronized(lock) { retainLocked(Interest(userTopic, userId)) }
+
+    fun releaseUser(userId: String) = synchronized(lock) { releaseLocked(Interest(userTopic, userId)) }
+
+    private fun retainLocked(interest: Interest) {
+        if (interests.merge(interest, 1) { a, b -> a + b } == 1) {
+            // 구독자가 없던 동안 받지 못한 메시지가 buffer 에 빠져 있을 수 있다.
+            invalidateRecent(interest)
+            val partition = TopicPartition(interest.topic, partitionOf(interest.key))
+            if (partitionRefs.merge(partition, 1) { a, b -> a + b } == 1) {
+                markAssignmentDirty()
+            }
+        }
+    }
+
+    private fun releaseLocked(interest: Interest) {
+        val remaining = interests.computeIfPresent(interest) { _, count -> if (count > 1) count - 1 else null }
+        if (remaining == null) {
+            invalidateRecent(interest)
+            val partition = TopicPartition(interest.topic, partitionOf(interest.key))
+            if (partitionRefs.computeIfPresent(partition) { _, count -> if (count > 1) count - 1 else null } == null) {
+                markAssignmentDirty()
+            }
+        }
+    }
+
+    private fun invalidateRecent(interest: Interest) {
+        if (interest.topic == roomTopic) {
+            recentMessageBuffer.invalidate(interest.key)
+        } else {
+            recentMessageBuffer.invalidateDirectRooms(interest.key)
+        }
+    }
+
+    // poll 중이면 깨워서 바로 assignment 를 바꾼다. (assignment 가 비어 대기 중이면 unpark)
+    private fun markAssignmentDirty() {
+        assignmentDirty = true
+        consumer?.wakeup()
+        consumerThread?.let(LockSupport::unpark)
+    }
+
+    private fun runConsumer() {
+        val properties = Properties().apply {
+            put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest")
+            put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false")
+        }
+        val consumer = consumerFactory.createConsumer(null, CLIENT_ID_PREFIX, null, properties)
+        this.consumer = consumer
+        try {
+            while (running) {
+                try {
+                    if (assignmentDirty) {
+                        reassign(consumer)
+                    }
+                    if (assigned.isEmpty()) {
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pollMillis))
+                        continue
+                    }
+                    consumer.poll(Duration.ofMillis(pollMillis)).forEach(::deliver)
+                } catch (e: WakeupException) {
+                    // assignment 변경 또는 종료
+                } catch (e: RuntimeException) {
+                    log.error("Cluster relay consumer error: {}", e.message, e)
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(pollMillis))
+                }
+            }
+        } finally {
+            this.consumer = null
+            consumer.close()
+        }
+    }
+
+    private fun reassign(consumer: Consumer<String, String>) {
+        // 읽기 전에 내려 두므로 그 사이의 변경은 다음 loop 에서 다시 반영된다.
+        assignmentDirty = false
+        val wanted = synchronized(lock) { HashSet(partitionRefs.keys) }
+        val added = wanted - consumer.assignment()
+        try {
+            consumer.assign(wanted)
+            if (added.isNotEmpty()) {
+                consumer.seekToEnd(added)
+                // seekToEnd 는 lazy 하므로 지금 위치를 확정한다. (이후 들어온 메시지부터 전달)
+                added.forEach { consumer.position(it) }
+            }
+        } catch (e: RuntimeException) {
+            // position() 도중 wakeup (대기 중에 남아 있던 것 포함) 이면 assigned 가 갱신되지 않으므로 다음 loop 에서 다시 반영한다.
+            assignmentDirty = true
+            throw e
+        }
+        assigned = wanted
+        log.debug("Cluster relay assignment: {} partitions (+{})", wanted.size, added.size)
+    }
+
+    private fun deliver(record: ConsumerRecord<String, String>) {
+        val key = record.key() ?: return
+        // 한 partition 에 여러 방이 섞여 있으므로 이 node 에 구독자가 없는 방은 역직렬화 없이 건너뛴다.
+        if (!interests.containsKey(Interest(record.topic(), key))) {
+            skippedCount.increment()
+            return
+        }
+        val message = try {
+            objectMapper.readValue(record.value(), Message::class.java)
+        } catch (e: JacksonException) {
+            log.warn("Dropping malformed relayed message: topic={}, offset={}: {}", record.topic(), record.offset(), e.message)
+            return
+        }
+        record.headers().lastHeader(SENT_AT_HEADER)?.let { header ->
+            val sentAt = ByteBuffer.wrap(header.value()).long
+            relayLatency.record((System.currentTimeMillis() - sentAt).coerceAtLeast(0), TimeUnit.MILLISECONDS)
+        }
+        try {
+            recentMessageBuffer.append(message)
+            if (record.topic() == roomTopic) {
+                localMessagePublisher.publishToRoom(key, message)
+            } else {
+                localMessagePublisher.publishToUser(key, message)
+            }
+            deliveredCount.increment()
+        } catch (e: RuntimeException) {
+            log.warn("Failed to deliver relayed message: topic={}, key={}, id={}: {}", record.topic(), key, message.id, e.message)
+        }
+    }
+
+    override fun start() {
+        running = true
+        consumerThread = Thread(::runConsumer, "chat-cluster-relay").apply {
+            isDaemon = true
+            start()
+        }
+    }
+
+    override fun stop() {
+        running = false
+        consumer?.wakeup()
+        consumerThread?.let { thread ->
+            LockSupport.unpark(thread)
+            try {
+                thread.join(pollMillis * 2 + 5000)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+            }
+        }
+        log.info("Cluster relay stopped: published={}, delivered={}, skipped={}", publishedCount.sum(), deliveredCount.sum(), skippedCount.sum())
+    }
+
+    override fun isRunning(): Boolean = running
+
+    fun assignedPartitions(): Set<TopicPartition> = assigned
+
+    fun publishedCount(): Long = publishedCount.sum()
+
+    fun publishFailedCount(): Long = publishFailedCount.sum()
+
+    fun deliveredCount(): Long = deliveredCount.sum()
+
+    // 같은 partition 의 다른 방 메시지 (이 node 에 구독자 없음)
+    fun skippedCount(): Long = skippedCount.sum()
+
+    companion object {
+        const val SENT_AT_HEADER = "sent-at"
+        private const val USER_QUEUE_SUBSCRIPTION = "/user" + ChatDestinations.USER_QUEUE
+        private const val CLIENT_ID_PREFIX = "chat-cluster-relay"
+    }
+}
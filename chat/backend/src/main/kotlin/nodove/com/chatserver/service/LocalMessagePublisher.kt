@@ -0,0 +1,19 @@
+package nodove.com.chatserver.service
+
+import nodove.com.chatserver.constants.ChatDestinations
+import nodove.com.chatserver.dto.Message
+import org.springframework.messaging.simp.SimpMessagingTemplate
+import org.springframework.stereotype.Component
+
+// 이 node 의 simple broker 로 바로 전달 (cluster 모드에서는 KafkaClusterRelay 가 수신한 메시지를 이걸로 전달)
+@Component
+class LocalMessagePublisher(private val messageTemplate: SimpMessagingTemplate) : ChatMessagePublisher {
+
+    override fun publishToRoom(roomId: String, message: Message) {
+        messageTemplate.convertAndSend(ChatDestinations.room(roomId), message)
+    }
+
+    override fun publishToUser(userId: String, message: Message) {
+        messageTemplate.convertAndSendToUser(userId, ChatDestinations.USER_QUEUE, message)
+    }
+}
@@ -0,0 +1,71 @@
+package nodove.com.chatserver.service
+
+import nodove.com.chatserver.dto.Message
+import nodove.com.chatserver.dto.MessageCursor
+import nodove.com.chatserver.dto.MessagePageDto
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.data.domain.Sort
+import org.springframework.data.mongodb.core.MongoTemplate
+import org.springframework.data.mongodb.core.query.Criteria
+import org.springframework.data.mongodb.core.query.Query
+import org.springframework.stereotype.Service
+
+/**
+ * 방별 채팅 이력 keyset pagination.
+ *
+ * (roomId, timestamp, _id) index 를 따라 cursor 위치부터 size + 1 건만 읽는다. (skip 없음, 전체 collection 적재 없음)
+ * 결과는 Mongo cursor 에서 한 건씩 꺼내며 page 크기를 넘으면 바로 닫는다.
+ */
+@Service
+class MessageHistoryService(
+    private val mongoTemplate: MongoTemplate,
+    @Value("\${chat.history.default-page-size:50}") private val defaultPageSize: Int,
+    @Value("\${chat.history.max-page-size:200}") private val maxPageSize: Int,
+) {
+
+    // before / after 가 모두 없으면 최신 page
+    fun findPage(roomId: String, before: MessageCursor?, after: MessageCursor?, size: Int?): MessagePageDto {
+        require(before == null || after == null) { "before and after cannot be used together" }
+        val pageSize = pageSize(size)
+        val forward = after != null
+        val cursor = after ?: before
+
+        val criteria = Criteria.where("roomId").`is`(roomId)
+        if (cursor != null) {
+            criteria.orOperator(
+                if (forward) Criteria.where("timestamp").gt(cursor.timestamp) else Criteria.where("timestamp").lt(cursor.timestamp),
+                Criteria.where("timestamp").`is`(cursor.timestamp).and("_id").let { if (forward) it.gt(cursor.id) else it.lt(cursor.id) }
+            )
+        }
+        val direction = if (forward) Sort.Direction.ASC else Sort.Direction.DESC
+        val query = Query(criteria)
+            .with(Sort.by(direction, "timestamp", "_id"))
+            .limit(pageSize + 1)
+            .cursorBatchSize(pageSize + 1)
+
+        val messages = ArrayList<Message>(pageSize)
+        var hasMore = false
+        mongoTemplate.stream(query, Message::class.java).use { stream ->
+            val iterator = stream.iterator()
+            while (iterator.hasNext()) {
+                val message = iterator.next()
+                if (messages.size == pageSize) {
+                    hasMore = true
+                    break
+                }
+                messages.add(message)
+            }
+        }
+        if (!forward) {
+            messages.reverse()
+        }
+        return MessagePageDto(
+            messages = messages,
+            oldestCursor = messages.firstOrNull()?.let { MessageCursor.of(it).encode() },
+            newestCursor = messages.lastOrNull()?.let { MessageCursor.of(it).encode() },
+            hasMore = hasMore
+        )
+    }
+
+    fun pageSize(size: Int?): Int = (size ?: defaultPageSize).coerceIn(1, maxPageSize)
+}
@@ -0,0 +1,244 @@
+package nodove.com.chatserver.service
+
+import com.mongodb.ErrorCategory
+import com.mongodb.WriteConcern
+import nodove.com.chatserver.dto.Message
+import org.bson.types.ObjectId
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.context.SmartLifecycle
+import org.springframework.data.mongodb.BulkOperationException
+import org.springframework.data.mongodb.MongoDatabaseFactory
+import org.springframework.data.mongodb.core.BulkOperations
+import org.springframework.data.mongodb.core.MongoTemplate
+import org.springframework.data.mongodb.core.convert.MongoConverter
+import org.springframework.stereotype.Component
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.BlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.ReentrantReadWriteLock
+import kotlin.concurrent.read
+import kotlin.concurrent.write
+
+/**
+ * chat message write-behind.
+ *
+ * STOMP inbound 스레드는 bounded queue 에 넣기만 하고, flusher 스레드들이 모아서 unordered bulk insert 한다.
+ *  - batch-size 가 차거나 linger-ms 가 지나면 flush
+ *  - _id 는 적재 시점에 미리 정하므로 재시도 중 이미 기록된 문서의 duplicate key 오류는 성공으로 본다. (중복 저장 없음)
+ *  - queue 가 가득 차면 overflow-policy 에 따라 대기 (BLOCK) / 호출 스레드에서 직접 기록 (CALLER_RUNS) / 버림 (DROP)
+ *  - 종료 시에는 web server (새 메시지 유입) 가 먼저 멈춘 뒤 남은 queue 를 모두 기록한다.
+ *    running 확인 + queue 적재는 read lock, running 을 내리는 것은 write lock 으로 묶어서
+ *    stop() 이후에 queue 에 들어가 drain 되지 않는 메시지가 없게 한다. (멈춘 뒤의 enqueue 는 호출 스레드에서 직접 기록)
+ */
+@Component
+class MessageWriter(
+    mongoDatabaseFactory: MongoDatabaseFactory,
+    mongoConverter: MongoConverter,
+    @Value("\${chat.write-behind.queue-capacity:50000}") queueCapacity: Int,
+    @Value("\${chat.write-behind.batch-size:500}") private val batchSize: Int,
+    @Value("\${chat.write-behind.linger-ms:20}") private val lingerMillis: Long,
+    @Value("\${chat.write-behind.flushers:2}") private val flushers: Int,
+    @Value("\${chat.write-behind.write-concern:W1}") writeConcern: String,
+    @Value("\${chat.write-behind.overflow-policy:BLOCK}") private val overflowPolicy: OverflowPolicy,
+    @Value("\${chat.write-behind.block-timeout-ms:100}") private val blockTimeoutMillis: Long,
+    @Value("\${chat.write-behind.max-retries:3}") private val maxRetries: Int,
+) : SmartLifecycle {
+
+    enum class OverflowPolicy {
+        BLOCK,        // block-timeout-ms 동안 대기 후에도 가득 차 있으면 CALLER_RUNS
+        CALLER_RUNS,  // 호출 스레드에서 바로 insert
+        DROP          // 버리고 카운트만 증가
+    }
+
+    private class Pending(val message: Message, val enqueuedAtNanos: Long)
+
+    private val log = LoggerFactory.getLogger(MessageWriter::class.java)
+
+    // 이 writer 전용 template (write concern 을 다른 Mongo 작업과 분리)
+    private val mongoTemplate = MongoTemplate(mongoDatabaseFactory, mongoConverter).apply {
+        // valueOf 는 모르는 이름이면 null 을 반환한다. (Java platform type)
+        val concern: WriteConcern? = WriteConcern.valueOf(writeConcern)
+        setWriteConcern(requireNotNull(concern) { "Unknown write concern: $writeConcern" })
+    }
+    private val queue: BlockingQueue<Pending> = ArrayBlockingQueue(queueCapacity)
+
+    private val flushedCount = LongAdder()
+    private val droppedCount = LongAdder()
+    private val failedCount = LongAdder()
+    private val callerRunsCount = LongAdder()
+    @Volatile private var lastFlushLatencyNanos = 0L
+    @Volatile private var lastFlushLagNanos = 0L
+
+    @Volatile private var running = false
+    private val lifecycleLock = ReentrantReadWriteLock()
+    private var flusherThreads: List<Thread> = emptyList()
+
+    // _id 를 정해 둔 message 를 반환 (클라이언트 전달 / 이후 조회에 같은 id 사용)
+    fun enqueue(message: Message): Message {
+        val identified = if (message.id == null) message.copy(id = ObjectId().toHexString()) else message
+        val pending = Pending(identified, System.nanoTime())
+        // writer 가 멈춘 상태 (기동 전 / 종료 중) 이거나 queue 가 가득 찬 경우 (CALLER_RUNS) 에는 유실되지 않도록 직접 기록
+        val handled = lifecycleLock.read { running && offer(pending) }
+        if (!handled) {
+            writeBatch(listOf(pending))
+        }
+        return identified
+    }
+
+    // queue 에 넣었거나 (DROP 으로) 버렸으면 true, 호출 스레드에서 직접 기록해야 하면 false
+    private fun offer(pending: Pending): Boolean {
+        if (queue.offer(pending)) {
+            return true
+        }
+        return when (overflowPolicy) {
+            OverflowPolicy.BLOCK -> queue.offer(pending, blockTimeoutMillis, TimeUnit.MILLISECONDS) || callerRuns()
+            OverflowPolicy.CALLER_RUNS -> callerRuns()
+            OverflowPolicy.DROP -> {
+                droppedCount.increment()
+                log.warn("Message queue is full, dropped message id={}", pending.message.id)
+                true
+            }
+        }
+    }
+
+    private fun callerRuns(): Boolean {
+        callerRunsCount.increment()
+        return false
+    }
+
+    private fun runFlusher() {
+        while (running) {
+            try {
+                val batch = nextBatch()
+                if (batch.isNotEmpty()) {
+                    writeBatch(batch)
+                }
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+                break
+            }
+        }
+    }
+
+    // 첫 건을 기다린 뒤 batchSize 가 차거나 linger 가 지날 때까지 모은다.
+    private fun nextBatch(): List<Pending> {
+        val batch = ArrayList<Pending>(batchSize)
+        val first = queue.poll(lingerMillis.coerceAtLeast(1), TimeUnit.MILLISECONDS) ?: return batch
+        batch.add(first)
+
+        val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis)
+        while (batch.size < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size)
+            val remaining = deadline - System.nanoTime()
+            if (batch.size >= batchSize || remaining <= 0) {
+                break
+            }
+            val next = queue.poll(remaining, TimeUnit.NANOSECONDS) ?: break
+            batch.add(next)
+        }
+        return batch
+    }
+
+    private fun writeBatch(batch: List<Pending>) {
+        val start = System.nanoTime()
+        var attempt = 0
+        while (true) {
+            try {
+                insert(batch.map { it.message })
+                flushedCount.add(batch.size.toLong())
+                break
+            } catch (e: RuntimeException) {
+                if (++attempt > maxRetries) {
+                    failedCount.add(batch.size.toLong())
+                    log.error("Failed to write {} chat messages after {} attempts: {}", batch.size, attempt, e.message)
+                    break
+                }
+                log.warn("Retrying chat message batch ({} messages, attempt {}): {}", batch.size, attempt, e.message)
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS * attempt)
+                } catch (ie: InterruptedException) {
+                    Thread.currentThread().interrupt()
+                }
+            }
+        }
+        val end = System.nanoTime()
+        lastFlushLatencyNanos = end - start
+        lastFlushLagNanos = end - batch.minOf { it.enqueuedAtNanos }
+    }
+
+    // unordered bulk insert: 한 건의 실패가 나머지 insert 를 막지 않는다.
+    private fun insert(messages: List<Message>) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Message::class.java)
+                .insert(messages)
+                .execute()
+        } catch (e: BulkOperationException) {
+            // 이전 시도에서 이미 기록된 문서 (같은 _id) 는 성공으로 본다.
+            if (e.errors.any { ErrorCategory.fromErrorCode(it.code) != ErrorCategory.DUPLICATE_KEY }) {
+                throw e
+            }
+        }
+    }
+
+    // 남은 queue 를 모두 기록 (종료 시)
+    private fun drain() {
+        var batch = ArrayList<Pending>(batchSize)
+        while (queue.drainTo(batch, batchSize) > 0) {
+            writeBatch(batch)
+            batch = ArrayList(batchSize)
+        }
+    }
+
+    override fun start() {
+        running = true
+        flusherThreads = (0 until flushers.coerceAtLeast(1)).map { index ->
+            Thread(::runFlusher, "chat-message-writer-$index").apply {
+                isDaemon = true
+                start()
+            }
+        }
+    }
+
+    override fun stop() {
+        // 적재 중인 enqueue 가 끝날 때까지 기다린 뒤 내린다. (이후 queue 에는 새로 들어오지 않음)
+        lifecycleLock.write { running = false }
+        flusherThreads.forEach { thread ->
+            try {
+                thread.join(lingerMillis * 2 + 5000)
+            } catch (e: InterruptedException) {
+                Thread.currentThread().interrupt()
+            }
+        }
+        drain()
+        log.info("Chat message writer stopped: flushed={}, dropped={}, failed={}", flushedCount.sum(), droppedCount.sum(), failedCount.sum())
+    }
+
+    override fun isRunning(): Boolean = running
+
+    // web server 가 먼저 멈춘 뒤 (새 메시지 유입 종료) 남은 기록을 drain 한다.
+    override fun getPhase(): Int = SmartLifecycle.DEFAULT_PHASE - 4096
+
+    fun queueDepth(): Int = queue.size
+
+    // 가장 오래 기다리고 있는 message 의 대기 시간 (기록 지연)
+    fun oldestPendingAgeNanos(): Long = queue.peek()?.let { System.nanoTime() - it.enqueuedAtNanos } ?: 0L
+
+    fun lastFlushLatencyNanos(): Long = lastFlushLatencyNanos
+
+    // 마지막 flush 에서 적재 -> 기록 완료까지 가장 오래 걸린 시간
+    fun lastFlushLagNanos(): Long = lastFlushLagNanos
+
+    fun flushedCount(): Long = flushedCount.sum()
+
+    fun droppedCount(): Long = droppedCount.sum()
+
+    fun failedCount(): Long = failedCount.sum()
+
+    fun callerRunsCount(): Long = callerRunsCount.sum()
+
+    companion object {
+        private const val RETRY_BACKOFF_MILLIS = 100L
+    }
+}
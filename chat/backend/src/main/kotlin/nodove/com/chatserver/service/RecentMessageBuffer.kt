@@ -0,0 +1,184 @@
+package nodove.com.chatserver.service
+
+import com.github.benmanes.caffeine.cache.Cache
+import com.github.benmanes.caffeine.cache.Caffeine
+import nodove.com.chatserver.dto.Message
+import nodove.com.chatserver.dto.MessageCursor
+import nodove.com.chatserver.dto.MessagePageDto
+import org.slf4j.LoggerFactory
+import org.springframework.beans.factory.annotation.Value
+import org.springframework.stereotype.Component
+import java.time.Duration
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * 방별 최근 메시지 ring buffer (고정 용량).
+ *
+ * 방 입장 시의 "최근 N 건" 조회를 DB I/O 없이 처리한다.
+ *  - 전송 시 append (MessageWriter 가 아직 기록하지 않은 메시지도 포함), cluster 모드에서는 relay 로 받은 메시지도 append (id 로 중복 제거)
+ *  - 처음 조회 시 (miss) Mongo 에서 최근 capacity 건을 읽어 채운다. 그 사이 append 된 메시지와는 id 로 중복 제거
+ *  - 전체 buffer 의 추정 메모리 합이 max-memory-mb 를 넘거나 idle-minutes 동안 접근이 없으면 방 단위로 제거
+ *    (Caffeine weight = 방 buffer 의 추정 byte, append 할 때마다 다시 계산)
+ *  - cluster 모드에서는 이 node 가 모든 메시지를 받는 방 (KafkaClusterRelay.hasInterest) 만 buffer 에 두고, 나머지는 DB 에서 조회한다.
+ */
+@Component
+class RecentMessageBuffer(
+    private val messageHistoryService: MessageHistoryService,
+    @Value("\${chat.recent.capacity:50}") private val capacity: Int,
+    @Value("\${chat.recent.max-memory-mb:64}") maxMemoryMb: Long,
+    @Value("\${chat.recent.idle-minutes:30}") idleMinutes: Long,
+) {
+
+    private val log = LoggerFactory.getLogger(RecentMessageBuffer::class.java)
+
+    private val rooms: Cache<String, RoomBuffer> = Caffeine.newBuilder()
+        .maximumWeight(maxMemoryMb * 1024 * 1024)
+        .weigher { _: String, buffer: RoomBuffer -> buffer.estimatedBytes().coerceAtMost(Int.MAX_VALUE.toLong()).toInt() }
+        .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+        .build()
+
+    private val hits = LongAdder()
+    private val misses = LongAdder()
+
+    // buffer 에 둘 방 (단일 node 는 전부)
+    @Volatile private var interest: (String) -> Boolean = { true }
+
+    fun restrictTo(interest: (String) -> Boolean) {
+        this.interest = interest
+    }
+
+    // 전송된 메시지 추가 (compute 안에서 append 하므로 같은 방의 append / warm 은 직렬화되고 weight 도 갱신된다)
+    fun append(message: Message) {
+        val roomId = message.roomId ?: return
+        if (!interest(roomId)) {
+            return
+        }
+        rooms.asMap().compute(roomId) { _, existing ->
+            (existing ?: RoomBuffer(capacity)).also { it.append(message) }
+        }
+    }
+
+    // 최근 limit 건 (시간 순). capacity 보다 많이 요청하거나 buffer 에 두지 않는 방이면 null (호출 측에서 DB 조회)
+    fun recent(roomId: String, limit: Int): MessagePageDto? {
+        if (limit > capacity || !interest(roomId)) {
+            return null
+        }
+        val cached = rooms.getIfPresent(roomId)
+        val buffer = if (cached != null && cached.isWarm()) {
+            hits.increment()
+            cached
+        } else {
+            misses.increment()
+            warm(roomId)
+        }
+        val (messages, olderExists) = buffer.latest(limit)
+        return MessagePageDto(
+            messages = messages,
+            oldestCursor = messages.firstOrNull()?.let { MessageCursor.of(it).encode() },
+            newestCursor = messages.lastOrNull()?.let { MessageCursor.of(it).encode() },
+            hasMore = olderExists
+        )
+    }
+
+    private fun warm(roomId: String): RoomBuffer {
+        val page = messageHistoryService.findPage(roomId, null, null, capacity)
+        log.debug("Warmed recent messages: room={}, loaded={}", roomId, page.messages.size)
+        return rooms.asMap().compute(roomId) { _, existing ->
+            (existing ?: RoomBuffer(capacity)).also { it.warm(page.messages, page.hasMore) }
+        }!!
+    }
+
+    // 이 node 가 더 이상 방 메시지를 받지 않거나 (cluster 구독 해제) 새로 받기 시작할 때, 그 사이 놓친 메시지가 있을 수 있으므로 버린다.
+    fun invalidate(roomId: String) {
+        rooms.invalidate(roomId)
+    }
+
+    // 사용자가 참여한 1:1 대화 buffer (dm:{a}:{b}) 를 모두 버린다.
+    fun invalidateDirectRooms(userId: String) {
+        rooms.asMap().keys.removeIf { roomId -> Message.directParticipants(roomId)?.let { it.first == userId || it.second == userId } ?: false }
+    }
+
+    fun hitCount(): Long = hits.sum()
+
+    fun missCount(): Long = misses.sum()
+
+    fun roomCount(): Long = rooms.estimatedSize()
+
+    // 현재 buffer 들의 추정 메모리 (byte)
+    fun estimatedBytes(): Long = rooms.policy().eviction().map { it.weightedSize().orElse(0L) }.orElse(0L)
+
+    class RoomBuffer(private val capacity: Int) {
+        private val ring = arrayOfNulls<Message>(capacity)
+        private var head = 0           // 다음에 쓸 위치
+        private var size = 0
+        private var bytes = 0L
+        private var warm = false
+        private var olderInStore = false  // buffer 밖 (DB) 에 더 이전 메시지가 있는지
+
+        @Synchronized
+        fun append(message: Message) {
+            if (message.id != null && ring.any { it?.id == message.id }) {
+                return
+            }
+            val evicted = ring[head]
+            if (evicted != null) {
+                bytes -= estimate(evicted)
+                olderInStore = true
+            }
+            ring[head] = message
+            bytes += estimate(message)
+            head = (head + 1) % capacity
+            if (size < capacity) {
+                size++
+            }
+        }
+
+        // DB 의 최근 이력 (시간 순) 과 warm 전에 append 된 메시지를 합친다.
+        @Synchronized
+        fun warm(stored: List<Message>, hasOlder: Boolean) {
+            val appended = snapshot()
+            val appendedIds = appended.mapNotNullTo(HashSet()) { it.id }
+            ring.fill(null)
+            head = 0
+            size = 0
+            bytes = 0
+            olderInStore = false
+            stored.filter { it.id !in appendedIds }.forEach(::append)
+            appended.forEach(::append)
+            olderInStore = olderInStore || hasOlder
+            warm = true
+        }
+
+        @Synchronized
+        fun isWarm(): Boolean = warm
+
+        // 최근 limit 건 (시간 순) 과 그보다 이전 메시지가 있는지
+        @Synchronized
+        fun latest(limit: Int): Pair<List<Message>, Boolean> {
+            val count = minOf(limit, size)
+            val messages = ArrayList<Message>(count)
+            for (i in count downTo 1) {
+                messages.add(ring[Math.floorMod(head - i, capacity)]!!)
+            }
+            return messages to (size > count || olderInStore)
+        }
+
+        @Synchronized
+        fun estimatedBytes(): Long = bytes + RING_OVERHEAD_BYTES + capacity * REFERENCE_BYTES
+
+        private fun snapshot(): List<Message> = latest(size).first
+    }
+
+    companion object {
+        private const val RING_OVERHEAD_BYTES = 64L
+        private const val REFERENCE_BYTES = 8L
+        private const val MESSAGE_OVERHEAD_BYTES = 120L  // object header + 필드 + LocalDateTime
+
+        // String 은 header + byte[] (Latin-1 이 아닌 경우 char 당 2 byte)
+        private fun estimate(message: Message): Long =
+            MESSAGE_OVERHEAD_BYTES + stringBytes(message.id) + stringBytes(message.sender) +
+                stringBytes(message.receiver) + stringBytes(message.roomId)
+
+        private fun stringBytes(value: String?): Long = if (value == null) 0L else 40L + value.length * 2L
+    }
+}
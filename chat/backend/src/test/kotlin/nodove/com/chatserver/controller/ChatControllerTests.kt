@@ -0,0 +1,132 @@
+package nodove.com.chatserver.controller
+
+import nodove.com.chatserver.dto.Message
+import nodove.com.chatserver.dto.MessagePageDto
+import nodove.com.chatserver.service.ChatMessagePublisher
+import nodove.com.chatserver.service.MessageHistoryService
+import nodove.com.chatserver.service.MessageWriter
+import nodove.com.chatserver.service.RecentMessageBuffer
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.Mockito.RETURNS_DEFAULTS
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.verifyNoInteractions
+import org.springframework.http.HttpStatus
+import org.springframework.security.access.AccessDeniedException
+import org.springframework.web.server.ResponseStatusException
+import java.security.Principal
+import java.time.LocalDateTime
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+// 보낸 사람은 payload 가 아니라 세션의 인증 사용자로 정해진다.
+class ChatControllerTests {
+
+    private class RecordingPublisher : ChatMessagePublisher {
+        val sent = ArrayList<Pair<String, Message>>()
+
+        override fun publishToRoom(roomId: String, message: Message) {
+            sent.add(roomId to message)
+        }
+
+        override fun publishToUser(userId: String, message: Message) {
+            sent.add(userId to message)
+        }
+    }
+
+    // enqueue 는 받은 message 를 그대로 반환
+    private val messageWriter = mock(MessageWriter::class.java) { it.arguments.firstOrNull() }
+    private val publisher = RecordingPublisher()
+    // 이력은 항상 빈 page
+    private val history = mock(MessageHistoryService::class.java) { invocation ->
+        if (invocation.method.name == "findPage") MessagePageDto(emptyList(), null, null, false) else RETURNS_DEFAULTS.answer(invocation)
+    }
+    private val controller = ChatController(
+        history,
+        messageWriter,
+        RecentMessageBuffer(history, 50, 64, 30),
+        publisher
+    )
+
+    @Test
+    fun directMessageSenderAndRoomComeFromPrincipal() {
+        controller.sendMessage("user-2", Message(sender = "spoofed", receiver = "ignored"), Principal { "user-1" })
+
+        val (target, message) = publisher.sent.single()
+        assertEquals("user-2", target)
+        assertEquals("user-1", message.sender)
+        assertEquals("user-2", message.receiver)
+        assertEquals(Message.directRoomId("user-1", "user-2"), message.roomId)
+    }
+
+    @Test
+    fun roomMessageSenderComesFromPrincipal() {
+        controller.sendRoomMessage("room-1", Message(sender = "spoofed", receiver = "room"), Principal { "user-1" })
+
+        val (target, message) = publisher.sent.single()
+        assertEquals("room-1", target)
+        assertEquals("user-1", message.sender)
+        assertEquals("room-1", message.roomId)
+    }
+
+    @Test
+    fun payloadIdIsReplacedByTheWriter() {
+        val enqueued = ArrayList<Message>()
+        val writer = mock(MessageWriter::class.java) { invocation ->
+            (invocation.arguments.first() as Message).also(enqueued::add).copy(id = "assigned")
+        }
+        val controller = ChatController(
+            mock(MessageHistoryService::class.java),
+            writer,
+            RecentMessageBuffer(mock(MessageHistoryService::class.java), 50, 64, 30),
+            publisher
+        )
+
+        controller.sendRoomMessage("room-1", Message(id = "existing-or-not-hex", sender = "user-1", receiver = "room"), Principal { "user-1" })
+
+        assertEquals(null, enqueued.single().id)
+        assertEquals("assigned", publisher.sent.single().second.id)
+    }
+
+    @Test
+    fun timestampIsStampedWhenTheServerAcceptsTheMessage() {
+        val backDated = LocalDateTime.of(2000, 1, 1, 0, 0)
+        val before = LocalDateTime.now()
+
+        controller.sendMessage("user-2", Message(sender = "user-1", receiver = "user-2", timestamp = backDated), Principal { "user-1" })
+        controller.sendRoomMessage("room-1", Message(sender = "user-1", receiver = "room", timestamp = backDated.plusYears(100)), Principal { "user-1" })
+
+        val after = LocalDateTime.now()
+        publisher.sent.forEach { (_, message) ->
+            assertTrue(!message.timestamp.isBefore(before) && !message.timestamp.isAfter(after), "timestamp=${message.timestamp}")
+        }
+    }
+
+    @Test
+    fun directConversationHistoryIsReadableOnlyByItsParticipants() {
+        val roomId = Message.directRoomId("user-1", "user-2")
+
+        for (reader in listOf(null, Principal { "user-3" })) {
+            val e = assertThrows<ResponseStatusException> { controller.messages(roomId, null, null, null, reader) }
+            assertEquals(HttpStatus.FORBIDDEN, e.statusCode)
+        }
+        val malformed = assertThrows<ResponseStatusException> { controller.messages("dm:user-1", null, null, null, Principal { "user-1" }) }
+        assertEquals(HttpStatus.FORBIDDEN, malformed.statusCode)
+
+        // 참여자와 일반 방 (인증 없이도) 은 조회 가능
+        assertTrue(controller.messages(roomId, null, null, null, Principal { "user-2" }).messages.isEmpty())
+        assertTrue(controller.messages("room-1", null, null, null, null).messages.isEmpty())
+    }
+
+    @Test
+    fun rejectsFramesWithoutPrincipal() {
+        assertThrows<AccessDeniedException> {
+            controller.sendMessage("user-2", Message(sender = "user-1", receiver = "user-2"), null)
+        }
+        assertThrows<AccessDeniedException> {
+            controller.sendRoomMessage("room-1", Message(sender = "user-1", receiver = "room"), null)
+        }
+        verifyNoInteractions(messageWriter)
+        assertEquals(0, publisher.sent.size)
+    }
+}
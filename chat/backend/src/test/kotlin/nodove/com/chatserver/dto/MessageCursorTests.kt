@@ -0,0 +1,52 @@
+package nodove.com.chatserver.dto
+
+import org.bson.types.ObjectId
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.time.LocalDateTime
+import java.util.Base64
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+
+class MessageCursorTests {
+
+    @Test
+    fun roundTripsTimestampAndId() {
+        val cursors = listOf(
+            MessageCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_789), ObjectId()),
+            // 초 / nano 가 0 이면 LocalDateTime.toString 이 생략한다.
+            MessageCursor(LocalDateTime.of(2024, 5, 1, 12, 30), ObjectId()),
+        )
+        for (cursor in cursors) {
+            val encoded = cursor.encode()
+            assertFalse(encoded.contains('=') || encoded.contains('+') || encoded.contains('/'), "not url safe: $encoded")
+            assertEquals(cursor, MessageCursor.decode(encoded))
+        }
+    }
+
+    @Test
+    fun cursorOfMessageUsesItsTimestampAndId() {
+        val message = Message(id = ObjectId().toHexString(), sender = "user-1", receiver = "room", roomId = "room-1")
+
+        val cursor = MessageCursor.decode(MessageCursor.of(message).encode())
+
+        assertEquals(message.timestamp, cursor.timestamp)
+        assertEquals(message.id, cursor.id.toHexString())
+    }
+
+    @Test
+    fun rejectsMalformedCursors() {
+        val malformed = listOf(
+            "not base64!",
+            encode("2024-05-01T12:30"),
+            encode("_${ObjectId().toHexString()}"),
+            encode("yesterday_${ObjectId().toHexString()}"),
+            encode("2024-05-01T12:30_not-an-object-id"),
+        )
+        for (cursor in malformed) {
+            assertThrows<IllegalArgumentException>(cursor) { MessageCursor.decode(cursor) }
+        }
+    }
+
+    private fun encode(raw: String): String = Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toByteArray())
+}
@@ -0,0 +1,191 @@
+package nodove.com.chatserver.service
+
+import com.fasterxml.jackson.module.kotlin.jacksonObjectMapper
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import nodove.com.chatserver.dto.Message
+import org.apache.kafka.clients.consumer.ConsumerConfig
+import org.apache.kafka.clients.producer.ProducerConfig
+import org.apache.kafka.common.serialization.StringDeserializer
+import org.apache.kafka.common.serialization.StringSerializer
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito.mock
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory
+import org.springframework.kafka.core.DefaultKafkaProducerFactory
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.test.EmbeddedKafkaBroker
+import org.springframework.kafka.test.context.EmbeddedKafka
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+// node 두 개 (같은 embedded broker 를 쓰는 relay 두 개) 사이의 전달 / partition assignment / node 간 지연 / 최근 메시지 buffer 대상
+@EmbeddedKafka(partitions = PARTITIONS, topics = [ROOM_TOPIC, USER_TOPIC])
+class KafkaClusterRelayTests {
+
+    private class Delivered(val key: String, val message: Message)
+
+    // simple broker 대신 전달된 메시지를 기록
+    private class RecordingPublisher : ChatMessagePublisher {
+        val rooms = LinkedBlockingQueue<Delivered>()
+        val users = LinkedBlockingQueue<Delivered>()
+
+        override fun publishToRoom(roomId: String, message: Message) {
+            rooms.add(Delivered(roomId, message))
+        }
+
+        override fun publishToUser(userId: String, message: Message) {
+            users.add(Delivered(userId, message))
+        }
+    }
+
+    private class Node(val relay: KafkaClusterRelay, val local: RecordingPublisher, val recent: RecentMessageBuffer, val meterRegistry: MeterRegistry)
+
+    private val nodes = ArrayList<Node>()
+
+    @AfterEach
+    fun tearDown() {
+        nodes.forEach { it.relay.stop() }
+    }
+
+    @Test
+    fun relaysRoomMessagesToNodesWithLocalSubscribers(broker: EmbeddedKafkaBroker) {
+        val nodeA = node(broker)
+        val nodeB = node(broker)
+        nodeB.relay.retainRoom("room-1")
+        awaitAssigned(nodeB)
+
+        val count = 200
+        for (i in 0 until count) {
+            nodeA.relay.publishToRoom("room-1", Message(id = "m$i", sender = "user-1", receiver = "room", roomId = "room-1"))
+            val delivered = assertNotNull(nodeB.local.rooms.poll(10, TimeUnit.SECONDS), "message $i was not relayed")
+            assertEquals("room-1", delivered.key)
+            // 같은 방의 메시지는 한 partition 을 거치므로 순서가 유지된다.
+            assertEquals("m$i", delivered.message.id)
+        }
+
+        // node A 에는 구독자가 없으므로 partition 을 assign 하지 않고 전달도 하지 않는다.
+        assertTrue(nodeA.relay.assignedPartitions().isEmpty())
+        assertTrue(nodeA.local.rooms.isEmpty())
+
+        // node 간 지연은 chat.cluster.relay.latency 로 기록된다. (embedded broker 에서는 ms 단위)
+        val latency = nodeB.meterRegistry.get("chat.cluster.relay.latency").timer()
+        assertEquals(count.toLong(), latency.count())
+        assertTrue(latency.max(TimeUnit.MILLISECONDS) < 1000, "relay latency max=${latency.max(TimeUnit.MILLISECONDS)}ms")
+    }
+
+    @Test
+    fun relaysDirectMessagesToTheReceiversNode(broker: EmbeddedKafkaBroker) {
+        val nodeA = node(broker)
+        val nodeB = node(broker)
+        nodeB.relay.retainUser("user-2")
+        awaitAssigned(nodeB)
+
+        nodeA.relay.publishToUser("user-2", Message(id = "dm-1", sender = "user-1", receiver = "user-2", roomId = Message.directRoomId("user-1", "user-2")))
+
+        val delivered = assertNotNull(nodeB.local.users.poll(10, TimeUnit.SECONDS))
+        assertEquals("user-2", delivered.key)
+        assertEquals("dm-1", delivered.message.id)
+        assertTrue(nodeB.local.rooms.isEmpty())
+    }
+
+    @Test
+    fun buffersOnlyRoomsThisNodeReceivesCompletely(broker: EmbeddedKafkaBroker) {
+        val node = node(broker)
+        val roomMessage = Message(id = "m1", sender = "user-1", receiver = "room", roomId = "room-1")
+        val directRoomId = Message.directRoomId("user-1", "user-2")
+
+        // 구독자가 없는 방은 다른 node 의 메시지를 받지 못하므로 buffer 에 두지 않는다. (DB 조회)
+        assertFalse(node.relay.hasInterest("room-1"))
+        node.recent.append(roomMessage)
+        assertNull(node.recent.recent("room-1", 10))
+        assertEquals(0, node.recent.roomCount())
+
+        node.relay.retainRoom("room-1")
+        assertTrue(node.relay.hasInterest("room-1"))
+        node.recent.append(roomMessage)
+        assertEquals(1, node.recent.roomCount())
+
+        // 1:1 메시지는 받는 사용자의 partition 으로만 전달되므로 두 사용자 모두 이 node 에 있어야 대화 전체를 받는다.
+        node.relay.retainUser("user-1")
+        assertFalse(node.relay.hasInterest(directRoomId))
+        node.relay.retainUser("user-2")
+        assertTrue(node.relay.hasInterest(directRoomId))
+
+        // 마지막 구독자가 나가면 buffer 도 버린다.
+        node.relay.releaseRoom("room-1")
+        assertFalse(node.relay.hasInterest("room-1"))
+        assertEquals(0, node.recent.roomCount())
+    }
+
+    @Test
+    fun assignsOnlyPartitionsOfRoomsWithLocalSubscribers(broker: EmbeddedKafkaBroker) {
+        val node = node(broker)
+        Thread.sleep(POLL_MILLIS * 3)
+        assertTrue(node.relay.assignedPartitions().isEmpty())
+
+        node.relay.retainRoom("room-1")
+        node.relay.retainRoom("room-1")
+        awaitAssigned(node)
+        assertEquals(1, node.relay.assignedPartitions().size)
+        assertEquals(ROOM_TOPIC, node.relay.assignedPartitions().single().topic())
+
+        // 마지막 구독자가 나가야 해제
+        node.relay.releaseRoom("room-1")
+        Thread.sleep(POLL_MILLIS * 3)
+        assertEquals(1, node.relay.assignedPartitions().size)
+        node.relay.releaseRoom("room-1")
+        awaitUntil { node.relay.assignedPartitions().isEmpty() }
+    }
+
+    private fun node(broker: EmbeddedKafkaBroker): Node {
+        val producerFactory = DefaultKafkaProducerFactory<String, String>(mapOf(
+            ProducerConfig.BOOTSTRAP_SERVERS_CONFIG to broker.brokersAsString,
+            ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG to StringSerializer::class.java,
+            ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG to StringSerializer::class.java,
+            ProducerConfig.LINGER_MS_CONFIG to 0
+        ))
+        val consumerFactory = DefaultKafkaConsumerFactory<String, String>(mapOf(
+            ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG to broker.brokersAsString,
+            ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG to StringDeserializer::class.java,
+            ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG to StringDeserializer::class.java
+        ))
+        val local = RecordingPublisher()
+        val recent = RecentMessageBuffer(mock(MessageHistoryService::class.java), 50, 64, 30)
+        val meterRegistry = SimpleMeterRegistry()
+        val relay = KafkaClusterRelay(
+            KafkaTemplate(producerFactory),
+            consumerFactory,
+            jacksonObjectMapper().findAndRegisterModules(),
+            local,
+            recent,
+            meterRegistry,
+            ROOM_TOPIC,
+            USER_TOPIC,
+            PARTITIONS,
+            POLL_MILLIS
+        )
+        relay.start()
+        return Node(relay, local, recent, meterRegistry).also(nodes::add)
+    }
+
+    private fun awaitAssigned(node: Node) = awaitUntil { node.relay.assignedPartitions().isNotEmpty() }
+
+    private fun awaitUntil(condition: () -> Boolean) {
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10)
+        while (!condition()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 10s")
+            Thread.sleep(10)
+        }
+    }
+}
+
+private const val ROOM_TOPIC = "chat.rooms"
+private const val USER_TOPIC = "chat.users"
+private const val PARTITIONS = 12
+private const val POLL_MILLIS = 100L
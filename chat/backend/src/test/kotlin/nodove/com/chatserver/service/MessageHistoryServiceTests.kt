@@ -0,0 +1,109 @@
+package nodove.com.chatserver.service
+
+import nodove.com.chatserver.dto.Message
+import nodove.com.chatserver.dto.MessageCursor
+import org.bson.Document
+import org.bson.types.ObjectId
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.mockito.Mockito.any
+import org.mockito.Mockito.doAnswer
+import org.mockito.Mockito.eq
+import org.mockito.Mockito.mock
+import org.springframework.data.mongodb.core.MongoTemplate
+import org.springframework.data.mongodb.core.query.Query
+import java.time.LocalDateTime
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+// keyset 조건 / 정렬 / page 경계 (Mongo 는 query 를 기록하고 정해진 결과를 돌려주는 mock)
+class MessageHistoryServiceTests {
+
+    private val mongoTemplate = mock(MongoTemplate::class.java)
+    private val service = MessageHistoryService(mongoTemplate, 3, 5)
+    private var query: Query? = null
+    private var results: List<Message> = emptyList()
+
+    init {
+        doAnswer { invocation ->
+            query = invocation.getArgument(0)
+            results.stream()
+        }.`when`(mongoTemplate).stream(any(Query::class.java) ?: Query(), eq(Message::class.java))
+    }
+
+    private val base = LocalDateTime.of(2024, 5, 1, 12, 0)
+    private val cursor = MessageCursor(base, ObjectId())
+
+    @Test
+    fun latestPageReadsNewestFirstAndReturnsChronologicalOrder() {
+        // DESC 로 size + 1 건 -> 한 건 남으므로 hasMore
+        results = (4 downTo 1).map(::message)
+
+        val page = service.findPage("room-1", null, null, null)
+
+        assertEquals(Document("roomId", "room-1"), query!!.queryObject)
+        assertEquals(Document("timestamp", -1).append("_id", -1), query!!.sortObject)
+        assertEquals(4, query!!.limit)
+        assertEquals(listOf(2, 3, 4), page.messages.map { it.id!!.toInt(16) })
+        assertTrue(page.hasMore)
+        assertEquals(MessageCursor.of(page.messages.first()).encode(), page.oldestCursor)
+        assertEquals(MessageCursor.of(page.messages.last()).encode(), page.newestCursor)
+    }
+
+    @Test
+    fun beforeCursorExcludesTheCursorMessageAndBreaksTimestampTiesById() {
+        results = (2 downTo 1).map(::message)
+
+        val page = service.findPage("room-1", cursor, null, 3)
+
+        assertEquals(Document("roomId", "room-1").append("\$or", listOf(
+            Document("timestamp", Document("\$lt", cursor.timestamp)),
+            Document("timestamp", cursor.timestamp).append("_id", Document("\$lt", cursor.id))
+        )), query!!.queryObject)
+        assertEquals(Document("timestamp", -1).append("_id", -1), query!!.sortObject)
+        assertEquals(listOf(1, 2), page.messages.map { it.id!!.toInt(16) })
+        assertFalse(page.hasMore)
+    }
+
+    @Test
+    fun afterCursorReadsForwardWithoutReversing() {
+        results = (1..4).map(::message)
+
+        val page = service.findPage("room-1", null, cursor, 3)
+
+        assertEquals(Document("roomId", "room-1").append("\$or", listOf(
+            Document("timestamp", Document("\$gt", cursor.timestamp)),
+            Document("timestamp", cursor.timestamp).append("_id", Document("\$gt", cursor.id))
+        )), query!!.queryObject)
+        assertEquals(Document("timestamp", 1).append("_id", 1), query!!.sortObject)
+        assertEquals(listOf(1, 2, 3), page.messages.map { it.id!!.toInt(16) })
+        assertTrue(page.hasMore)
+    }
+
+    @Test
+    fun emptyPageHasNoCursors() {
+        val page = service.findPage("room-1", cursor, null, 3)
+
+        assertTrue(page.messages.isEmpty())
+        assertEquals(null, page.oldestCursor)
+        assertEquals(null, page.newestCursor)
+        assertFalse(page.hasMore)
+    }
+
+    @Test
+    fun pageSizeIsClampedAndCursorsAreExclusive() {
+        assertEquals(3, service.pageSize(null))
+        assertEquals(1, service.pageSize(0))
+        assertEquals(5, service.pageSize(1000))
+        assertThrows<IllegalArgumentException> { service.findPage("room-1", cursor, cursor, 3) }
+    }
+
+    private fun message(index: Int): Message = Message(
+        id = "%024x".format(index),
+        sender = "user-1",
+        receiver = "room",
+        roomId = "room-1",
+        timestamp = base.plusSeconds(index.toLong())
+    )
+}
@@ -0,0 +1,121 @@
+package nodove.com.chatserver.service
+
+import nodove.com.chatserver.dto.Message
+import nodove.com.chatserver.dto.MessagePageDto
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.Mockito.`when`
+import java.time.LocalDateTime
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertNotNull
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+
+// warm / append 병합, ring 용량, 추정 메모리 (weight) 기반 제거
+class RecentMessageBufferTests {
+
+    private val history = mock(MessageHistoryService::class.java)
+    private val base = LocalDateTime.of(2024, 5, 1, 12, 0)
+
+    @Test
+    fun warmMergesStoredHistoryWithMessagesAppendedBeforeTheFirstRead() {
+        val buffer = RecentMessageBuffer(history, 5, 64, 30)
+        // 전송 직후 (MessageWriter 가 기록하기 전) 의 메시지와 이미 기록된 메시지가 겹친다.
+        buffer.append(message(3))
+        buffer.append(message(4))
+        `when`(history.findPage("room-1", null, null, 5)).thenReturn(page(listOf(message(1), message(2), message(3)), hasMore = false))
+
+        val first = assertNotNull(buffer.recent("room-1", 5))
+        assertEquals(listOf(1, 2, 3, 4), first.messages.map(::index))
+        assertFalse(first.hasMore)
+        assertEquals(1, buffer.missCount())
+
+        // warm 이후는 DB 를 다시 읽지 않는다.
+        buffer.append(message(5))
+        val second = assertNotNull(buffer.recent("room-1", 2))
+        assertEquals(listOf(4, 5), second.messages.map(::index))
+        assertTrue(second.hasMore)
+        assertEquals(1, buffer.hitCount())
+        verify(history, times(1)).findPage("room-1", null, null, 5)
+    }
+
+    @Test
+    fun ringKeepsTheLatestCapacityMessagesAndRemembersOlderOnes() {
+        val room = RecentMessageBuffer.RoomBuffer(3)
+        room.warm(listOf(message(1), message(2)), hasOlder = false)
+        assertFalse(room.latest(3).second)
+
+        room.append(message(3))
+        room.append(message(3))  // 같은 id 는 한 번만
+        assertEquals(listOf(1, 2, 3), room.latest(3).first.map(::index))
+        assertFalse(room.latest(3).second)
+
+        // 밀려난 메시지는 DB 에만 있으므로 hasMore
+        room.append(message(4))
+        room.append(message(5))
+        val (messages, olderExists) = room.latest(3)
+        assertEquals(listOf(3, 4, 5), messages.map(::index))
+        assertTrue(olderExists)
+    }
+
+    @Test
+    fun warmKeepsHasOlderFromTheStore() {
+        val room = RecentMessageBuffer.RoomBuffer(3)
+        room.warm(listOf(message(8), message(9)), hasOlder = true)
+
+        assertEquals(listOf(8, 9), room.latest(3).first.map(::index))
+        assertTrue(room.latest(3).second)
+    }
+
+    @Test
+    fun requestsLargerThanCapacityGoToTheStore() {
+        val buffer = RecentMessageBuffer(history, 5, 64, 30)
+        buffer.append(message(1))
+
+        assertNull(buffer.recent("room-1", 6))
+        assertEquals(0, buffer.missCount())
+    }
+
+    @Test
+    fun weightTracksAppendedMessagesAndEvictionKeepsTheTotalUnderTheLimit() {
+        val room = RecentMessageBuffer.RoomBuffer(4)
+        val empty = room.estimatedBytes()
+        room.append(message(1))
+        val one = room.estimatedBytes()
+        assertTrue(one > empty)
+        // ring 을 한 바퀴 돌면 밀려난 메시지 크기만큼 빠진다.
+        (2..4).forEach { room.append(message(it)) }
+        val full = room.estimatedBytes()
+        room.append(message(5))
+        assertEquals(full, room.estimatedBytes())
+
+        // 방당 ~8KB (capacity 1000 의 reference 배열) * 300 방 > 1MB
+        val buffer = RecentMessageBuffer(history, 1000, 1, 30)
+        for (i in 0 until 300) {
+            buffer.append(message(1, "room-$i"))
+        }
+        val deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10)
+        while (buffer.estimatedBytes() > 1024 * 1024) {
+            assertTrue(System.nanoTime() < deadline, "weighted size ${buffer.estimatedBytes()} not evicted within 10s")
+            Thread.sleep(10)
+        }
+        assertTrue(buffer.roomCount() in 1 until 300)
+    }
+
+    private fun message(index: Int, roomId: String = "room-1"): Message = Message(
+        id = "%024x".format(index),
+        sender = "user-1",
+        receiver = "room",
+        roomId = roomId,
+        timestamp = base.plusSeconds(index.toLong())
+    )
+
+    private fun page(messages: List<Message>, hasMore: Boolean) =
+        MessagePageDto(messages = messages, oldestCursor = null, newestCursor = null, hasMore = hasMore)
+
+    private fun index(message: Message): Int = message.id!!.toInt(16)
+}
@@ -1,6 +1,8 @@
 package nodove.com.community.configuration
 
-import org.apache.catalina.filters.RequestFilter
+import com.nodove.community.jwt.AccessTokenVerifier
+import com.nodove.community.jwt.JwtAuthenticationFilter
+import org.springframework.beans.factory.annotation.Value
 import org.springframework.context.annotation.Bean
 import org.springframework.context.annotation.Configuration
 import org.springframework.security.authentication.AuthenticationManager
@@ -22,9 +24,15 @@ class SecurityConfig {
         return AuthenticationManager { authentication : Authentication -> authentication }
     }
 
+    // auth 서버가 발급한 access token 을 로컬에서 검증 (서명 + exp + subject), auth 서버 호출 없음
+    @Bean
+    fun accessTokenVerifier(@Value("\${jwt.secret-key.access}") accessSecret: String): AccessTokenVerifier {
+        return AccessTokenVerifier(accessSecret)
+    }
+
     @Bean
     @Throws(Exception::class)
-    fun securityFilterChain(http: HttpSecurity, corsConfigurationSource: CorsConfigurationSource): SecurityFilterChain {
+    fun securityFilterChain(http: HttpSecurity, corsConfigurationSource: CorsConfigurationSource, accessTokenVerifier: AccessTokenVerifier): SecurityFilterChain {
         http
             .cors { obj : CorsConfigurer<HttpSecurity> -> obj.configurationSource(corsConfigurationSource) }
             .formLogin { obj: FormLoginConfigurer<HttpSecurity> -> obj.disable() }
@@ -35,7 +43,7 @@ class SecurityConfig {
                     SessionCreationPolicy.STATELESS
                 )
             }
-            .addFilterBefore(RequestFilter(), UsernamePasswordAuthenticationFilter::class.java)
+            .addFilterBefore(JwtAuthenticationFilter(accessTokenVerifier), UsernamePasswordAuthenticationFilter::class.java)
             .authorizeHttpRequests { request ->
                 request
                     .anyRequest().permitAll()
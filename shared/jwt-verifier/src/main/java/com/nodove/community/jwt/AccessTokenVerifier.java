@@ -0,0 +1,68 @@
+package com.nodove.community.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+
+// auth 서버가 발급한 access token 을 네트워크 호출 없이 로컬에서 검증한다.
+// JwtParser 는 thread-safe 하므로 생성 시 한 번만 만들어 재사용한다. (auth 서버 JwtUtility 와 같은 60초 clock skew)
+// 주의: 차단(block) 여부는 auth 서버의 Redis 에만 있으므로 여기서는 확인하지 않는다.
+//       차단된 사용자도 access token 만료 시점까지는 통과한다.
+public class AccessTokenVerifier {
+
+    public static final String ACCESS_SUBJECT = "access";
+    public static final long DEFAULT_CLOCK_SKEW_SECONDS = 60;
+
+    private final JwtParser parser;
+
+    public AccessTokenVerifier(String accessSecret) {
+        this(accessSecret, DEFAULT_CLOCK_SKEW_SECONDS);
+    }
+
+    public AccessTokenVerifier(String accessSecret, long clockSkewSeconds) {
+        if (accessSecret == null || accessSecret.isBlank()) {
+            throw new IllegalArgumentException("jwt.secret-key.access is not configured");
+        }
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(accessSecret.getBytes(StandardCharsets.UTF_8)))
+                .requireSubject(ACCESS_SUBJECT) // refresh token 으로 API 를 호출하는 것을 막는다.
+                .setAllowedClockSkewSeconds(clockSkewSeconds)
+                .build();
+    }
+
+    // "Bearer " 접두어가 제거된 token 문자열
+    public VerifiedAccessToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidTokenException("token is empty", false, null);
+        }
+        try {
+            return toVerified(parser.parseClaimsJws(token).getBody());
+        } catch (ExpiredJwtException e) {
+            throw new InvalidTokenException("token expired", true, e);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("invalid token: " + e.getMessage(), false, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static VerifiedAccessToken toVerified(Claims claims) {
+        String userId = claims.get("userId", String.class);
+        if (userId == null) {
+            throw new InvalidTokenException("userId claim is missing", false, null);
+        }
+        Date expiration = claims.getExpiration();
+        return new VerifiedAccessToken(
+                userId,
+                claims.get("email", String.class),
+                claims.get("role", List.class),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime()
+        );
+    }
+}
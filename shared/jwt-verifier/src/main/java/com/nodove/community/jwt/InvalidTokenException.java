@@ -0,0 +1,17 @@
+package com.nodove.community.jwt;
+
+// 서명 불일치 / 형식 오류 / subject 불일치 / 만료 등 access token 을 신뢰할 수 없는 경우
+public class InvalidTokenException extends RuntimeException {
+
+    private final boolean expired;
+
+    public InvalidTokenException(String message, boolean expired, Throwable cause) {
+        super(message, cause);
+        this.expired = expired;
+    }
+
+    // 서명은 유효하지만 exp 가 지난 경우 -> 클라이언트가 auth 서버에서 재발급 받아야 한다.
+    public boolean isExpired() {
+        return expired;
+    }
+}
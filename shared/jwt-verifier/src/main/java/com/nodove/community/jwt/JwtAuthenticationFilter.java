@@ -0,0 +1,76 @@
+package com.nodove.community.jwt;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// Authorization: Bearer <access token> 를 로컬 검증해 SecurityContext 에 올린다.
+//  - header 없음 / Bearer 아님 : 인증 없이 다음 filter 로 (인가는 SecurityConfig 의 규칙에 맡긴다)
+//  - 유효                      : JwtPrincipal + ROLE_* authority 로 인증 후 다음 filter 로
+//  - 만료 / 위조               : 401 (TOKEN_EXPIRED / TOKEN_INVALID) -> 클라이언트는 auth 서버에서 재발급
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final byte[] TOKEN_EXPIRED_BODY = errorBody("TOKEN_EXPIRED", "Access token expired");
+    private static final byte[] TOKEN_INVALID_BODY = errorBody("TOKEN_INVALID", "Invalid access token");
+
+    private final AccessTokenVerifier verifier;
+
+    public JwtAuthenticationFilter(AccessTokenVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedAccessToken token;
+        try {
+            token = verifier.verify(header.substring(BEARER_PREFIX.length()).trim());
+        } catch (InvalidTokenException e) {
+            SecurityContextHolder.clearContext();
+            writeUnauthorized(response, e.isExpired() ? TOKEN_EXPIRED_BODY : TOKEN_INVALID_BODY);
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication(token));
+        SecurityContextHolder.setContext(context);
+        filterChain.doFilter(request, response);
+    }
+
+    public static UsernamePasswordAuthenticationToken authentication(VerifiedAccessToken token) {
+        List<SimpleGrantedAuthority> authorities = token.getRoles().stream()
+                .map(SimpleGrantedAuthority::new)
+                .toList();
+        return new UsernamePasswordAuthenticationToken(new JwtPrincipal(token), null, authorities);
+    }
+
+    private static void writeUnauthorized(HttpServletResponse response, byte[] body) throws IOException {
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static byte[] errorBody(String code, String message) {
+        return ("{\"code\":\"" + code + "\",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,35 @@
+package com.nodove.community.jwt;
+
+import java.security.Principal;
+
+// SecurityContext / STOMP session 에 올리는 principal. getName() 은 userId.
+public final class JwtPrincipal implements Principal {
+
+    private final VerifiedAccessToken token;
+
+    public JwtPrincipal(VerifiedAccessToken token) {
+        this.token = token;
+    }
+
+    @Override
+    public String getName() {
+        return token.getUserId();
+    }
+
+    public String getUserId() {
+        return token.getUserId();
+    }
+
+    public String getEmail() {
+        return token.getEmail();
+    }
+
+    public VerifiedAccessToken getToken() {
+        return token;
+    }
+
+    @Override
+    public String toString() {
+        return "JwtPrincipal(" + token.getUserId() + ")";
+    }
+}
@@ -0,0 +1,41 @@
+package com.nodove.community.jwt;
+
+import java.util.Collections;
+import java.util.List;
+
+// 서명 검증이 끝난 access token claims 의 불변 스냅샷 (auth 서버 JwtUtility.generateAcessToken 의 claim 구성과 동일)
+public final class VerifiedAccessToken {
+
+    private final String userId;
+    private final String email;
+    private final List<String> roles;
+    private final long expiresAt; // epoch millis
+
+    VerifiedAccessToken(String userId, String email, List<String> roles, long expiresAt) {
+        this.userId = userId;
+        this.email = email;
+        this.roles = roles == null ? Collections.emptyList() : Collections.unmodifiableList(roles);
+        this.expiresAt = expiresAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedAccessToken(userId=" + userId + ", roles=" + roles + ", expiresAt=" + expiresAt + ")";
+    }
+}